@@ -0,0 +1,127 @@
+package com.knowprogram.accounts.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the customer details response, the cards and loans legs it is built from, and the
+ * error response. The mapper is configured the way Spring Boot configures the application's; the {@code Blackbird}
+ * variants add {@link BlackbirdModule} as the application does, and the {@code stream} ones write to an output
+ * stream the way the MVC converter writes to the servlet response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper blackbirdObjectMapper;
+    // discards the bytes and, unlike OutputStream.nullOutputStream(), survives the mapper closing it
+    private final OutputStream out = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private CustomerAllDetailsDto customerAllDetailsDto;
+    private ErrorResponseDTO errorResponseDTO;
+    private byte[] customerAllDetailsJson;
+    private byte[] cardsJson;
+    private byte[] loansJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdObjectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        AccountDTO accountDTO = new AccountDTO();
+        accountDTO.setAccountNumber(1_000_000_001L);
+        accountDTO.setAccountType("Savings");
+        accountDTO.setBranchAddress("123 New York Street");
+        customerAllDetailsDto = new CustomerAllDetailsDto();
+        customerAllDetailsDto.setName("John Doe");
+        customerAllDetailsDto.setEmail("john.doe@example.com");
+        customerAllDetailsDto.setMobileNumber("9876543210");
+        customerAllDetailsDto.setAccountDTO(accountDTO);
+        customerAllDetailsDto.setCardsDto(new CardsDto("9876543210", "101000000001", "Credit Card", 100_000, 25_000,
+                75_000));
+        customerAllDetailsDto.setLoansDto(new LoansDto("9876543210", "100000000001", "Home Loan", 100_000, 40_000,
+                60_000));
+        errorResponseDTO = ErrorResponseDTO.builder()
+                .apiPath("uri=/api/fetchCustomerDetails")
+                .errorCode(HttpStatus.NOT_FOUND)
+                .errorMessage("Customer not found with the given input data mobileNumber : '9876543210'")
+                .errorTime(LocalDateTime.of(2024, 6, 30, 10, 0))
+                .build();
+        customerAllDetailsJson = objectMapper.writeValueAsBytes(customerAllDetailsDto);
+        cardsJson = objectMapper.writeValueAsBytes(customerAllDetailsDto.getCardsDto());
+        loansJson = objectMapper.writeValueAsBytes(customerAllDetailsDto.getLoansDto());
+    }
+
+    @Benchmark
+    public byte[] writeCustomerAllDetailsDto() throws IOException {
+        return objectMapper.writeValueAsBytes(customerAllDetailsDto);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerAllDetailsDtoBlackbird() throws IOException {
+        return blackbirdObjectMapper.writeValueAsBytes(customerAllDetailsDto);
+    }
+
+    @Benchmark
+    public void streamCustomerAllDetailsDto() throws IOException {
+        objectMapper.writeValue(out, customerAllDetailsDto);
+    }
+
+    @Benchmark
+    public void streamCustomerAllDetailsDtoBlackbird() throws IOException {
+        blackbirdObjectMapper.writeValue(out, customerAllDetailsDto);
+    }
+
+    @Benchmark
+    public CustomerAllDetailsDto readCustomerAllDetailsDto() throws IOException {
+        return objectMapper.readValue(customerAllDetailsJson, CustomerAllDetailsDto.class);
+    }
+
+    @Benchmark
+    public CustomerAllDetailsDto readCustomerAllDetailsDtoBlackbird() throws IOException {
+        return blackbirdObjectMapper.readValue(customerAllDetailsJson, CustomerAllDetailsDto.class);
+    }
+
+    @Benchmark
+    public CardsDto readCardsDto() throws IOException {
+        return objectMapper.readValue(cardsJson, CardsDto.class);
+    }
+
+    @Benchmark
+    public LoansDto readLoansDto() throws IOException {
+        return objectMapper.readValue(loansJson, LoansDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeErrorResponseDto() throws IOException {
+        return objectMapper.writeValueAsBytes(errorResponseDTO);
+    }
+}
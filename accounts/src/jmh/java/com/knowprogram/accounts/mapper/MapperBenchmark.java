@@ -0,0 +1,82 @@
+package com.knowprogram.accounts.mapper;
+
+import com.knowprogram.accounts.dto.AccountDTO;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.LoansDto;
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping done on every account and customer details request, including the copies handed out by the
+ * request coalescing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private Customer customer;
+    private Account account;
+    private CustomerDTO customerDTO;
+    private CustomerAllDetailsDto customerAllDetailsDto;
+
+    @Setup
+    public void setUp() {
+        customer = Customer.builder().customerId(1L).name("John Doe").email("john.doe@example.com")
+                .mobileNumber("9876543210").build();
+        account = Account.builder().accountNumber(1_000_000_001L).customerId(1L).accountType("Savings")
+                .branchAddress("123 New York Street").build();
+        customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+        customerDTO.setAccountDTO(AccountMapper.mapToAccountDTO(account, new AccountDTO()));
+        customerAllDetailsDto = CustomerMapper.mapToCustomerAllDetailsDto(customer, new CustomerAllDetailsDto());
+        customerAllDetailsDto.setAccountDTO(customerDTO.getAccountDTO());
+        customerAllDetailsDto.setCardsDto(new CardsDto("9876543210", "101000000001", "Credit Card", 100_000, 25_000,
+                75_000));
+        customerAllDetailsDto.setLoansDto(new LoansDto("9876543210", "100000000001", "Home Loan", 100_000, 40_000,
+                60_000));
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDto() {
+        CustomerDTO dto = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
+        dto.setAccountDTO(AccountMapper.mapToAccountDTO(account, new AccountDTO()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer dtoToCustomer() {
+        return CustomerMapper.mapToCustomer(customerDTO, new Customer());
+    }
+
+    @Benchmark
+    public Account dtoToAccount() {
+        return AccountMapper.mapToAccount(customerDTO.getAccountDTO(), new Account());
+    }
+
+    @Benchmark
+    public CustomerDTO copyCustomerDto() {
+        return CustomerMapper.mapToCustomerDTO(customerDTO, new CustomerDTO());
+    }
+
+    @Benchmark
+    public CustomerAllDetailsDto copyCustomerAllDetailsDto() {
+        return CustomerMapper.mapToCustomerAllDetailsDto(customerAllDetailsDto, new CustomerAllDetailsDto());
+    }
+}
@@ -0,0 +1,208 @@
+package com.knowprogram.accounts.bloom;
+
+import com.knowprogram.accounts.config.MobileNumberFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A Bloom filter of the mobile numbers the database knows, so lookups and duplicate checks for numbers it has never
+ * seen are answered without a query. It never misses a number that has been {@link #add added} once the
+ * transaction inserting it committed; numbers deleted since the last {@link #rebuild} still pass, as do a few
+ * unknown ones (false positives). Until the first rebuild, and when disabled, every number passes.
+ * <p>
+ * Each instance keeps its own filter, and numbers inserted through another instance, or by anything else, are only
+ * seen after the next rebuild; until then reads of them answer not-found, which the rebuild interval bounds. A
+ * duplicate check skipping its query on a definite miss therefore needs a unique constraint on the column to catch
+ * those numbers on insert.
+ * <p>
+ * Publishes {@code mobile.number.filter.checks} by result, {@code mobile.number.filter.false.positives}, the
+ * observed and the expected false-positive rate of the current filter, and {@code mobile.number.filter.rebuilds}.
+ */
+public class MobileNumberFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MobileNumberFilter.class);
+
+    private final MobileNumberFilterProperties properties;
+    private final MobileNumberSource source;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositives;
+    private volatile Generation current;
+    // the filter a running rebuild is filling, which additions go to as well
+    private volatile BloomFilter building;
+
+    public MobileNumberFilter(MobileNumberFilterProperties properties, MobileNumberSource source,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.source = source;
+        this.meterRegistry = meterRegistry;
+        this.absent = Counter.builder("mobile.number.filter.checks")
+                .description("Mobile numbers checked against the filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.present = Counter.builder("mobile.number.filter.checks")
+                .description("Mobile numbers checked against the filter")
+                .tag("result", "present")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("mobile.number.filter.false.positives")
+                .description("Mobile numbers that passed the filter but were not in the database")
+                .register(meterRegistry);
+        Gauge.builder("mobile.number.filter.false.positive.rate", this, MobileNumberFilter::observedFalsePositiveRate)
+                .description("False positives among the unknown mobile numbers checked since the last rebuild")
+                .register(meterRegistry);
+        Gauge.builder("mobile.number.filter.expected.false.positive.rate", this,
+                        MobileNumberFilter::expectedFalsePositiveRate)
+                .description("False-positive probability of the current filter from the bits it has set")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} only if the mobile number is definitely not in the database
+     */
+    public boolean mightContain(String mobileNumber) {
+        Generation generation = current;
+        if (!properties.enabled() || generation == null || mobileNumber == null) {
+            return true;
+        }
+        if (generation.filter().mightContain(mobileNumber)) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        generation.absent().increment();
+        return false;
+    }
+
+    /**
+     * @return the numbers among the given ones that might be in the database
+     */
+    public List<String> mightContainAll(Collection<String> mobileNumbers) {
+        return mobileNumbers.stream().filter(this::mightContain).toList();
+    }
+
+    /**
+     * Runs the lookup unless the mobile number is definitely unknown, and counts a false positive if it passed the
+     * filter but the lookup found nothing.
+     */
+    public <T> Optional<T> find(String mobileNumber, Function<String, Optional<T>> lookup) {
+        if (!mightContain(mobileNumber)) {
+            return Optional.empty();
+        }
+        Optional<T> result = lookup.apply(mobileNumber);
+        if (result.isEmpty()) {
+            recordFalsePositives(1);
+        }
+        return result;
+    }
+
+    /**
+     * Counts mobile numbers that passed {@link #mightContain} but turned out not to be in the database.
+     */
+    public void recordFalsePositives(int count) {
+        Generation generation = current;
+        if (properties.enabled() && generation != null && count > 0) {
+            falsePositives.increment(count);
+            generation.falsePositives().add(count);
+        }
+    }
+
+    /**
+     * Adds a mobile number the database now knows. Inside a transaction it is added once the transaction commits;
+     * until then a concurrent rebuild could not see the row either.
+     */
+    public void add(String mobileNumber) {
+        if (!properties.enabled() || mobileNumber == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(mobileNumber);
+                }
+            });
+        } else {
+            put(mobileNumber);
+        }
+    }
+
+    private void put(String mobileNumber) {
+        // building before current: a rebuild publishes its filter as current before it stops filling it, so the
+        // number reaches the new filter either way
+        BloomFilter next = building;
+        Generation generation = current;
+        if (generation != null) {
+            generation.filter().put(mobileNumber);
+        }
+        if (next != null) {
+            next.put(mobileNumber);
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the database, sized for twice the current number of rows. Numbers
+     * added while it runs end up in both the old and the new filter.
+     */
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        rebuildLock.lock();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            long count = source.count();
+            BloomFilter next = new BloomFilter(Math.max(properties.expectedInsertions(), 2 * count),
+                    properties.falsePositiveProbability());
+            building = next;
+            source.forEach(next::put);
+            current = new Generation(next, new LongAdder(), new LongAdder());
+            outcome = "success";
+            logger.info("Rebuilt the mobile number filter from {} rows: {} bits, {} hash functions", count,
+                    next.bitSize(), next.hashFunctions());
+        } finally {
+            building = null;
+            sample.stop(Timer.builder("mobile.number.filter.rebuilds")
+                    .description("Rebuilds of the mobile number filter from the database")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            rebuildLock.unlock();
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        Generation generation = current;
+        if (generation == null) {
+            return Double.NaN;
+        }
+        long falsePositiveCount = generation.falsePositives().sum();
+        long unknown = falsePositiveCount + generation.absent().sum();
+        return unknown == 0 ? 0 : (double) falsePositiveCount / unknown;
+    }
+
+    private double expectedFalsePositiveRate() {
+        Generation generation = current;
+        return generation == null ? Double.NaN : generation.filter().expectedFalsePositiveProbability();
+    }
+
+    /**
+     * A filter with the checks it answered, for the false-positive rate since it was built.
+     */
+    private record Generation(BloomFilter filter, LongAdder absent, LongAdder falsePositives) {
+    }
+}
@@ -1,13 +1,37 @@
 package com.knowprogram.accounts.client;
 
 import com.knowprogram.accounts.dto.CardsDto;
+import feign.FeignException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Component;
 
-@Component
-public class CardsFallback implements CardsFeignClient{
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a cards call that did not succeed. A 404 is answered with an empty 404 response, since the card is gone;
+ * an error, a timeout, a full bulkhead or an open circuit with the last known good cards details, and {@code null}
+ * when there are none.
+ */
+public class CardsFallback implements CardsFeignClient {
+
+    private final LastKnownGoodCache lastKnownGoodCache;
+    private final Throwable cause;
+
+    public CardsFallback(LastKnownGoodCache lastKnownGoodCache, Throwable cause) {
+        this.lastKnownGoodCache = lastKnownGoodCache;
+        this.cause = cause;
+    }
+
     @Override
     public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
-        return null;
+        if (cause instanceof FeignException.NotFound) {
+            return ResponseEntity.notFound().build();
+        }
+        return lastKnownGoodCache.staleCards(mobileNumber);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, CardsDto>> fetchCardDetailsBatch(String correlationId, List<String> mobileNumbers) {
+        return lastKnownGoodCache.staleCards(mobileNumbers);
     }
 }
@@ -0,0 +1,22 @@
+package com.knowprogram.accounts.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link CardsFallback} for the exception that failed the cards call.
+ */
+@Component
+public class CardsFallbackFactory implements FallbackFactory<CardsFeignClient> {
+
+    private final LastKnownGoodCache lastKnownGoodCache;
+
+    public CardsFallbackFactory(LastKnownGoodCache lastKnownGoodCache) {
+        this.lastKnownGoodCache = lastKnownGoodCache;
+    }
+
+    @Override
+    public CardsFeignClient create(Throwable cause) {
+        return new CardsFallback(lastKnownGoodCache, cause);
+    }
+}
@@ -4,11 +4,19 @@ import com.knowprogram.accounts.dto.CardsDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name="cards", fallback = CardsFallback.class)
+import java.util.List;
+import java.util.Map;
+
+@FeignClient(name="cards", fallbackFactory = CardsFallbackFactory.class)
 public interface CardsFeignClient {
     @GetMapping(value = "/api/fetch", consumes = "application/json")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestHeader("peoplebank-correlation-id") String correlationId, @RequestParam String mobileNumber);
+
+    @PostMapping(value = "/api/fetchBatch", consumes = "application/json")
+    public ResponseEntity<Map<String, CardsDto>> fetchCardDetailsBatch(@RequestHeader("peoplebank-correlation-id") String correlationId, @RequestBody List<String> mobileNumbers);
 }
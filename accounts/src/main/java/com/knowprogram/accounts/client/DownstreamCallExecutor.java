@@ -0,0 +1,161 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.FanOutProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the downstream (loans/cards) legs of an aggregation, concurrently when
+ * {@code accounts.fan-out.enabled} is set, and records the latency of every leg.
+ * A leg that fails or misses its deadline completes with {@code null}, the same
+ * thing the Feign fallbacks return, so callers handle both the same way. A leg
+ * that misses its deadline is cancelled, interrupting the thread running it, and
+ * a leg the saturated pool cannot take completes with {@code null} right away
+ * instead of running on the request thread outside its deadline.
+ */
+@Component
+@EnableConfigurationProperties(FanOutProperties.class)
+public class DownstreamCallExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamCallExecutor.class);
+
+    private final FanOutProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    public DownstreamCallExecutor(FanOutProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // legs block on I/O, so a virtual thread per leg needs no pool sizing
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("accounts-fan-out-", 0)
+                    .factory());
+        } else {
+            // AbortPolicy: when the pool and queue are full the leg is rejected and answered like a failed call
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(properties.maxThreads(),
+                    properties.maxThreads(), 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(properties.queueCapacity()),
+                    new CustomizableThreadFactory("accounts-fan-out-"), new ThreadPoolExecutor.AbortPolicy());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            this.executor = threadPoolExecutor;
+        }
+    }
+
+    /**
+     * @param leg     name of the downstream, used as the {@code leg} tag of the latency timer
+     * @param timeout deadline for the call
+     * @param call    the downstream call
+     * @return future holding the call result, or {@code null} if it failed, timed out or was rejected
+     */
+    public <T> CompletableFuture<T> submit(String leg, Duration timeout, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!properties.enabled()) {
+            try {
+                T result = call.get();
+                stop(sample, leg, "success");
+                return CompletableFuture.completedFuture(result);
+            } catch (RuntimeException ex) {
+                stop(sample, leg, "error");
+                logger.warn("{} call failed: {}", leg, ex.getMessage());
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(call.get());
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            stop(sample, leg, "rejected");
+            logger.warn("{} call rejected, the fan-out pool and queue are full", leg);
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((result, throwable) -> {
+                    if (throwable == null) {
+                        stop(sample, leg, "success");
+                        return result;
+                    }
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    boolean timedOut = cause instanceof TimeoutException;
+                    stop(sample, leg, timedOut ? "timeout" : "error");
+                    if (timedOut) {
+                        // frees the thread and, through the interrupt, the connection the leg is waiting on; a leg
+                        // still queued never starts
+                        task.cancel(true);
+                        logger.warn("{} call did not complete within {}", leg, timeout);
+                    } else {
+                        logger.warn("{} call failed: {}", leg, cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Non-blocking variant of {@link #submit(String, Duration, Supplier)} for calls that are already asynchronous:
+     * nothing runs on the executor, the deadline and the latency timer apply to the subscription.
+     *
+     * @param leg     name of the downstream, used as the {@code leg} tag of the latency timer
+     * @param timeout deadline for the call
+     * @param call    the downstream call
+     * @return the call result, or empty if it failed or timed out
+     */
+    public <T> Mono<T> submit(String leg, Duration timeout, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.timeout(timeout)
+                    .doOnSuccess(result -> stop(sample, leg, "success"))
+                    .onErrorResume(throwable -> {
+                        boolean timedOut = throwable instanceof TimeoutException;
+                        stop(sample, leg, timedOut ? "timeout" : "error");
+                        if (timedOut) {
+                            logger.warn("{} call did not complete within {}", leg, timeout);
+                        } else {
+                            logger.warn("{} call failed: {}", leg, throwable.getMessage());
+                        }
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private void stop(Timer.Sample sample, String leg, String outcome) {
+        sample.stop(Timer.builder("accounts.downstream.calls")
+                .description("Latency of the downstream legs of the customer details aggregation")
+                .tag("leg", leg)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
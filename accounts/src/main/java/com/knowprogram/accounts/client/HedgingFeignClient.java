@@ -0,0 +1,267 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.HedgingProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedges GET calls: when the instance the load balancer picked has not answered within the hedge delay, the same
+ * request goes to another instance of the target and the first successful response wins; the other call is
+ * cancelled. The delay is either fixed or the configured latency percentile of the target's recent calls, and a
+ * token bucket keeps hedges below {@code maxRate} of the calls. Publishes {@code accounts.hedging.sent},
+ * {@code accounts.hedging.won} (the hedge answered first) and {@code accounts.hedging.wasted} (calls whose response
+ * was thrown away or that were cancelled) per target.
+ */
+public class HedgingFeignClient implements Client, Closeable {
+
+    // no adaptive hedging until the latency percentile rests on this many calls
+    private static final long MIN_SAMPLES = 100;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // token amounts are in thousandths of a hedge; the bucket never holds more than BURST hedges
+    private static final long TOKEN = 1_000;
+    private static final long BURST = 10 * TOKEN;
+
+    private final Client delegate;
+    private final DiscoveryClient discoveryClient;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("accounts-hedging-", 0).factory());
+    private final Map<String, TargetState> targets = new ConcurrentHashMap<>();
+
+    public HedgingFeignClient(Client delegate, DiscoveryClient discoveryClient, HedgingProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.discoveryClient = discoveryClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        TargetState target = targets.computeIfAbsent(PooledFeignClient.target(request), TargetState::new);
+        target.earnToken();
+        long delayNanos = target.delayNanos();
+        CompletableFuture<Response> primary = submit(target, request, options);
+        if (delayNanos < 0) {
+            return await(primary);
+        }
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // slow, hedge below if allowed
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } catch (InterruptedException ex) {
+            primary.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+        }
+
+        Request hedgeRequest = hedgeRequest(target.name, request);
+        if (hedgeRequest == null || !target.trySpendToken()) {
+            return await(primary);
+        }
+        target.sent.increment();
+        CompletableFuture<Response> hedge = submit(target, hedgeRequest, options);
+        CompletableFuture<Response> first = firstSuccess(primary, hedge);
+        try {
+            Response response = first.get();
+            boolean hedgeWon = hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == response;
+            if (hedgeWon) {
+                target.won.increment();
+            }
+            CompletableFuture<Response> loser = hedgeWon ? primary : hedge;
+            // a loser that failed did no work that a single call would not have done
+            if (!loser.isCompletedExceptionally()) {
+                target.wasted.increment();
+            }
+            loser.cancel(true);
+            loser.thenAccept(Response::close);
+            return response;
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } catch (InterruptedException ex) {
+            primary.cancel(true);
+            hedge.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+        }
+    }
+
+    private CompletableFuture<Response> submit(TargetState target, Request request, Request.Options options) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        Future<?> call = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                Response response = delegate.execute(request, options);
+                if (!result.complete(response)) {
+                    response.close();
+                }
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                target.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        // cancelling the result interrupts the call, which makes the transport abandon the exchange
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the first successful response, or the failure of the primary once both calls failed
+     */
+    private static CompletableFuture<Response> firstSuccess(CompletableFuture<Response> primary,
+                                                            CompletableFuture<Response> hedge) {
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> call : List.of(primary, hedge)) {
+            call.whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    first.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    primary.whenComplete((ignored, primaryFailure) -> first.completeExceptionally(primaryFailure));
+                }
+            });
+        }
+        return first;
+    }
+
+    private Request hedgeRequest(String serviceId, Request request) {
+        URI uri = URI.create(request.url());
+        List<ServiceInstance> others = discoveryClient.getInstances(serviceId).stream()
+                .filter(instance -> !(instance.getHost().equals(uri.getHost()) && instance.getPort() == uri.getPort()))
+                .toList();
+        if (others.isEmpty()) {
+            return null;
+        }
+        ServiceInstance instance = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+        return Request.create(request.httpMethod(), LoadBalancerUriTools.reconstructURI(instance, uri).toString(),
+                request.headers(), request.body(), request.charset(), request.requestTemplate());
+    }
+
+    private static Response await(CompletableFuture<Response> call) throws IOException {
+        try {
+            return call.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } catch (InterruptedException ex) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the downstream call");
+        }
+    }
+
+    private static IOException unwrap(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class TargetState {
+
+        private final String name;
+        private final Timer latency;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter wasted;
+        private final AtomicLong tokens = new AtomicLong();
+        private final long earnedPerCall;
+        private volatile long delayNanos = -1;
+        private volatile long delayComputedAt = System.nanoTime() - DELAY_REFRESH_NANOS;
+
+        private TargetState(String name) {
+            this.name = name;
+            this.latency = Timer.builder("accounts.hedging.attempts")
+                    .description("Latency of single calls, hedges included, the hedge delay is derived from")
+                    .tag("target", name)
+                    .publishPercentiles(properties.percentile())
+                    .register(meterRegistry);
+            this.sent = counter("accounts.hedging.sent", "Hedge requests sent", name);
+            this.won = counter("accounts.hedging.won", "Hedge requests that answered before the original", name);
+            this.wasted = counter("accounts.hedging.wasted",
+                    "Calls whose response was discarded or that were cancelled because the other one won", name);
+            this.earnedPerCall = Math.round(properties.maxRate() * TOKEN);
+        }
+
+        private Counter counter(String meterName, String description, String target) {
+            return Counter.builder(meterName).description(description).tag("target", target)
+                    .register(meterRegistry);
+        }
+
+        private void earnToken() {
+            tokens.updateAndGet(current -> Math.min(BURST, current + earnedPerCall));
+        }
+
+        private boolean trySpendToken() {
+            return tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN;
+        }
+
+        /**
+         * @return the hedge delay, or -1 while there are too few calls to derive it from
+         */
+        private long delayNanos() {
+            if (properties.delay() != null) {
+                return properties.delay().toNanos();
+            }
+            if (latency.count() < MIN_SAMPLES) {
+                return -1;
+            }
+            long now = System.nanoTime();
+            if (now - delayComputedAt >= DELAY_REFRESH_NANOS) {
+                delayComputedAt = now;
+                for (ValueAtPercentile valueAtPercentile : latency.takeSnapshot().percentileValues()) {
+                    if (valueAtPercentile.percentile() == properties.percentile()) {
+                        delayNanos = Math.max(properties.minDelay().toNanos(),
+                                (long) valueAtPercentile.value(TimeUnit.NANOSECONDS));
+                    }
+                }
+            }
+            return delayNanos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.knowprogram.accounts.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.knowprogram.accounts.config.LastKnownGoodProperties;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.LoansDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Keeps the last successful cards and loans response per mobile number, bounded by size and age, for the Feign
+ * fallbacks to serve while a downstream is failing or its circuit is open. A 404 drops the recorded response. Served responses carry the HTTP
+ * {@code Warning: 110} header, which {@link #isStale(ResponseEntity)} checks. The caches publish the
+ * {@code cache.*} metrics as {@code cards-last-known-good} and {@code loans-last-known-good}.
+ */
+@Component
+@EnableConfigurationProperties(LastKnownGoodProperties.class)
+public class LastKnownGoodCache {
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final LastKnownGoodProperties properties;
+    private final Cache<String, CardsDto> cards;
+    private final Cache<String, LoansDto> loans;
+
+    public LastKnownGoodCache(LastKnownGoodProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cards = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties), "cards-last-known-good");
+        this.loans = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties), "loans-last-known-good");
+    }
+
+    private static <V> Cache<String, V> newCache(LastKnownGoodProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.maxAge())
+                .recordStats()
+                .build();
+    }
+
+    public void putCards(String mobileNumber, CardsDto cardsDto) {
+        if (properties.enabled()) {
+            cards.put(mobileNumber, cardsDto);
+        }
+    }
+
+    /**
+     * @param cardsByMobileNumber a batch response, in which a null value means the number has no card
+     */
+    public void putCards(Map<String, CardsDto> cardsByMobileNumber) {
+        if (properties.enabled()) {
+            putAll(cards, cardsByMobileNumber);
+        }
+    }
+
+    public void putLoans(String mobileNumber, LoansDto loansDto) {
+        if (properties.enabled()) {
+            loans.put(mobileNumber, loansDto);
+        }
+    }
+
+    /**
+     * @param loansByMobileNumber a batch response, in which a null value means the number has no loan
+     */
+    public void putLoans(Map<String, LoansDto> loansByMobileNumber) {
+        if (properties.enabled()) {
+            putAll(loans, loansByMobileNumber);
+        }
+    }
+
+    /**
+     * Drops the recorded cards response of a mobile number the cards service answered with 404.
+     */
+    public void removeCards(String mobileNumber) {
+        cards.invalidate(mobileNumber);
+    }
+
+    /**
+     * Drops the recorded loans response of a mobile number the loans service answered with 404.
+     */
+    public void removeLoans(String mobileNumber) {
+        loans.invalidate(mobileNumber);
+    }
+
+    private static <V> void putAll(Cache<String, V> cache, Map<String, V> valuesByMobileNumber) {
+        // Caffeine rejects null values; a number the downstream no longer knows must not be served from an older copy
+        valuesByMobileNumber.forEach((mobileNumber, value) -> {
+            if (value == null) {
+                cache.invalidate(mobileNumber);
+            } else {
+                cache.put(mobileNumber, value);
+            }
+        });
+    }
+
+    /**
+     * @return the last cards response for the mobile number marked as stale, or {@code null} if there is none
+     */
+    public ResponseEntity<CardsDto> staleCards(String mobileNumber) {
+        return stale(cards.getIfPresent(mobileNumber));
+    }
+
+    public ResponseEntity<Map<String, CardsDto>> staleCards(Collection<String> mobileNumbers) {
+        return stale(cards.getAllPresent(mobileNumbers));
+    }
+
+    /**
+     * @return the last loans response for the mobile number marked as stale, or {@code null} if there is none
+     */
+    public ResponseEntity<LoansDto> staleLoans(String mobileNumber) {
+        return stale(loans.getIfPresent(mobileNumber));
+    }
+
+    public ResponseEntity<Map<String, LoansDto>> staleLoans(Collection<String> mobileNumbers) {
+        return stale(loans.getAllPresent(mobileNumbers));
+    }
+
+    private <T> ResponseEntity<T> stale(T body) {
+        if (!properties.enabled() || body == null || body instanceof Map<?, ?> map && map.isEmpty()) {
+            return null;
+        }
+        return ResponseEntity.ok().header(HttpHeaders.WARNING, STALE_WARNING).body(body);
+    }
+
+    /**
+     * @return whether the response was served by a fallback from a recorded copy
+     */
+    public static boolean isStale(ResponseEntity<?> responseEntity) {
+        return responseEntity.getHeaders().containsKey(HttpHeaders.WARNING);
+    }
+}
@@ -1,13 +1,37 @@
 package com.knowprogram.accounts.client;
 
 import com.knowprogram.accounts.dto.LoansDto;
+import feign.FeignException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Component;
 
-@Component
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a loans call that did not succeed. A 404 is answered with an empty 404 response, since the loan is gone;
+ * an error, a timeout, a full bulkhead or an open circuit with the last known good loans details, and {@code null}
+ * when there are none.
+ */
 public class LoansFallback implements LoansFeignClient {
+
+    private final LastKnownGoodCache lastKnownGoodCache;
+    private final Throwable cause;
+
+    public LoansFallback(LastKnownGoodCache lastKnownGoodCache, Throwable cause) {
+        this.lastKnownGoodCache = lastKnownGoodCache;
+        this.cause = cause;
+    }
+
     @Override
     public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
-        return null;
+        if (cause instanceof FeignException.NotFound) {
+            return ResponseEntity.notFound().build();
+        }
+        return lastKnownGoodCache.staleLoans(mobileNumber);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, LoansDto>> fetchLoanDetailsBatch(String correlationId, List<String> mobileNumbers) {
+        return lastKnownGoodCache.staleLoans(mobileNumbers);
     }
 }
@@ -0,0 +1,22 @@
+package com.knowprogram.accounts.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link LoansFallback} for the exception that failed the loans call.
+ */
+@Component
+public class LoansFallbackFactory implements FallbackFactory<LoansFeignClient> {
+
+    private final LastKnownGoodCache lastKnownGoodCache;
+
+    public LoansFallbackFactory(LastKnownGoodCache lastKnownGoodCache) {
+        this.lastKnownGoodCache = lastKnownGoodCache;
+    }
+
+    @Override
+    public LoansFeignClient create(Throwable cause) {
+        return new LoansFallback(lastKnownGoodCache, cause);
+    }
+}
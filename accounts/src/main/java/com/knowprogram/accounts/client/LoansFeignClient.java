@@ -4,11 +4,19 @@ import com.knowprogram.accounts.dto.LoansDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "loans", fallback = LoansFallback.class)
+import java.util.List;
+import java.util.Map;
+
+@FeignClient(name = "loans", fallbackFactory = LoansFallbackFactory.class)
 public interface LoansFeignClient {
     @GetMapping(value = "/api/fetch", consumes = "application/json")
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestHeader("peoplebank-correlation-id") String correlationId, @RequestParam String mobileNumber);
+
+    @PostMapping(value = "/api/fetchBatch", consumes = "application/json")
+    public ResponseEntity<Map<String, LoansDto>> fetchLoanDetailsBatch(@RequestHeader("peoplebank-correlation-id") String correlationId, @RequestBody List<String> mobileNumbers);
 }
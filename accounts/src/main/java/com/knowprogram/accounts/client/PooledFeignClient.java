@@ -0,0 +1,172 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.HttpClientProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.ProtocolVersion;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feign transport with a pool of keep-alive HTTP/1.1 connections per target (Feign client name), so a slow cards
+ * service cannot take the connections loans calls need. Each pool publishes the
+ * {@code httpcomponents.httpclient.pool.*} metrics (leased, available, pending), and
+ * {@code accounts.http.client.in.flight} counts the calls under way. Limits and timeouts come from
+ * {@link HttpClientProperties}; the Feign {@link Request.Options} are not used, and {@code HttpClientConfig} refuses
+ * to start when Feign timeouts are configured.
+ */
+public class PooledFeignClient implements Client, Closeable {
+
+    private static final String DEFAULT_TARGET = "default";
+
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Transport> transports = new ConcurrentHashMap<>();
+
+    public PooledFeignClient(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Transport transport = transports.computeIfAbsent(target(request), this::createTransport);
+        transport.inFlight().incrementAndGet();
+        Future<SimpleHttpResponse> future = transport.client().execute(toHttpRequest(request), null);
+        try {
+            return toResponse(request, future.get());
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(ex.getCause());
+        } catch (InterruptedException ex) {
+            // the circuit breaker's time limiter interrupts calls it gave up on; free the connection for others
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+        } finally {
+            transport.inFlight().decrementAndGet();
+        }
+    }
+
+    static String target(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+            return request.requestTemplate().feignTarget().name();
+        }
+        return DEFAULT_TARGET;
+    }
+
+    private Transport createTransport(String target) {
+        HttpClientProperties.Pool pool = properties.pool(target);
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(pool.connectTimeout()))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(pool.leaseTimeout()))
+                .setResponseTimeout(Timeout.of(pool.responseTimeout()))
+                .build();
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(pool.maxConnections())
+                .setMaxConnTotal(pool.maxTotal())
+                .setDefaultConnectionConfig(connectionConfig)
+                .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_1).build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, target).bindTo(meterRegistry);
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(TimeValue.of(pool.idleTimeout()))
+                // retries are up to the caller: the circuit breaker and the fan-out deadlines budget for one try
+                .disableAutomaticRetries()
+                .build();
+        client.start();
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("accounts.http.client.in.flight", inFlight, AtomicInteger::get)
+                .description("Feign calls waiting for a connection or a response")
+                .tag("httpclient", target)
+                .register(meterRegistry);
+        return new Transport(client, inFlight);
+    }
+
+    private static SimpleHttpRequest toHttpRequest(Request request) {
+        SimpleRequestBuilder builder = SimpleRequestBuilder.create(request.httpMethod().name()).setUri(request.url());
+        ContentType contentType = null;
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            String name = header.getKey();
+            // the client frames the body itself and rejects requests that already carry these
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.addHeader(name, value);
+                if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                    contentType = ContentType.parseLenient(value);
+                }
+            }
+        }
+        if (request.body() != null) {
+            builder.setBody(request.body(), contentType);
+        }
+        return builder.build();
+    }
+
+    private static Response toResponse(Request request, SimpleHttpResponse httpResponse) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        ProtocolVersion version = httpResponse.getVersion();
+        return Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request)
+                .protocolVersion(version != null && version.getMajor() >= 2
+                        ? Request.ProtocolVersion.HTTP_2 : Request.ProtocolVersion.HTTP_1_1)
+                .body(httpResponse.getBodyBytes())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        List<Transport> open = new ArrayList<>(transports.values());
+        transports.clear();
+        open.forEach(transport -> transport.client().close(CloseMode.GRACEFUL));
+    }
+
+    private record Transport(CloseableHttpAsyncClient client, AtomicInteger inFlight) {
+    }
+}
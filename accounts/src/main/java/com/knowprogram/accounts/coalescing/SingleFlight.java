@@ -0,0 +1,122 @@
+package com.knowprogram.accounts.coalescing;
+
+import com.knowprogram.accounts.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent callers asking for the same key share one computation. The first caller runs it on its own
+ * thread; callers arriving while it runs wait for it and get its result, or its exception. The result itself is
+ * never handed out: every caller gets its own copy, so callers may change what they get.
+ * <p>
+ * An entry lives only while its computation runs; it is removed when the computation ends, whether or not anybody
+ * still waits for it. At most {@code maxKeys} computations can be joined at once, callers for other keys beyond that
+ * run their own, as do callers that waited {@code maxWait} in vain. Publishes {@code accounts.coalescing.calls}
+ * tagged with the role of the caller ({@code leader}, {@code follower}, {@code bypass}, {@code timeout}),
+ * {@code accounts.coalescing.ratio}, the share of calls that joined another one, and
+ * {@code accounts.coalescing.in.flight}.
+ */
+public class SingleFlight<K, V> {
+
+    private final CoalescingProperties properties;
+    private final UnaryOperator<V> copier;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter bypassed;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, CoalescingProperties properties, UnaryOperator<V> copier,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.copier = copier;
+        this.leaders = counter(meterRegistry, name, "leader");
+        this.followers = counter(meterRegistry, name, "follower");
+        this.bypassed = counter(meterRegistry, name, "bypass");
+        this.timedOut = counter(meterRegistry, name, "timeout");
+        Gauge.builder("accounts.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of calls served by a computation another caller started")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("accounts.coalescing.in.flight", inFlight, Map::size)
+                .description("Computations that callers can currently join")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String role) {
+        return Counter.builder("accounts.coalescing.calls").tag("name", name).tag("role", role)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a copy of the value computed for the key, by this caller or by one running concurrently
+     */
+    public V execute(K key, Supplier<V> computation) {
+        if (!properties.enabled()) {
+            return computation.get();
+        }
+        CompletableFuture<V> running = inFlight.get(key);
+        if (running == null) {
+            if (inFlight.size() >= properties.maxKeys()) {
+                bypassed.increment();
+                return computation.get();
+            }
+            CompletableFuture<V> call = new CompletableFuture<>();
+            running = inFlight.putIfAbsent(key, call);
+            if (running == null) {
+                leaders.increment();
+                return lead(key, call, computation);
+            }
+        }
+        return follow(running, computation);
+    }
+
+    private V lead(K key, CompletableFuture<V> call, Supplier<V> computation) {
+        try {
+            V value = computation.get();
+            call.complete(value);
+            return copier.apply(value);
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V follow(CompletableFuture<V> running, Supplier<V> computation) {
+        try {
+            V value = running.get(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+            followers.increment();
+            return copier.apply(value);
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            return computation.get();
+        } catch (ExecutionException ex) {
+            followers.increment();
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call", ex);
+        }
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count() + bypassed.count() + timedOut.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+}
@@ -0,0 +1,13 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the batch endpoints.
+ *
+ * @param chunkSize mobile numbers resolved per IN query and per cards/loans multi-get call
+ */
+@ConfigurationProperties(prefix = "accounts.batch")
+public record BatchProperties(@DefaultValue("100") int chunkSize) {
+}
@@ -0,0 +1,44 @@
+package com.knowprogram.accounts.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Every Feign client runs its calls through its own semaphore bulkhead ({@code resilience4j.bulkhead}), whose
+ * permits are published as {@code resilience4j.bulkhead.*}. Those gauges only show saturation at the
+ * moment they are scraped; {@code accounts.bulkhead.rejected} counts the calls turned away into the fallback in
+ * between.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BulkheadMetricsConfig {
+
+    @Bean
+    public RegistryEventConsumer<Bulkhead> bulkheadRejectionCounter(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<Bulkhead> entryAddedEvent) {
+                Bulkhead bulkhead = entryAddedEvent.getAddedEntry();
+                Counter rejected = Counter.builder("accounts.bulkhead.rejected")
+                        .description("Calls rejected because no bulkhead permit became free in time")
+                        .tag("name", bulkhead.getName())
+                        .register(meterRegistry);
+                bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<Bulkhead> entryRemoveEvent) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<Bulkhead> entryReplacedEvent) {
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are configured through {@code spring.cache.*}; the accounts cache holds {@code fetchAccount} results
+ * keyed by mobile number.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
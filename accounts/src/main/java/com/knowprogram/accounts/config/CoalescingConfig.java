@@ -0,0 +1,33 @@
+package com.knowprogram.accounts.config;
+
+import com.knowprogram.accounts.coalescing.SingleFlight;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.mapper.CustomerMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Coalesces concurrent {@code fetchCustomerDetails} and {@code fetchAccount} lookups per mobile number.
+ */
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+
+    @Bean
+    public SingleFlight<String, CustomerAllDetailsDto> customerDetailsSingleFlight(CoalescingProperties properties,
+                                                                                   MeterRegistry meterRegistry) {
+        return new SingleFlight<>("customer-details", properties,
+                customerAllDetailsDto -> CustomerMapper.mapToCustomerAllDetailsDto(customerAllDetailsDto,
+                        new CustomerAllDetailsDto()), meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, CustomerDTO> accountSingleFlight(CoalescingProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new SingleFlight<>("account", properties,
+                customerDTO -> CustomerMapper.mapToCustomerDTO(customerDTO, new CustomerDTO()), meterRegistry);
+    }
+}
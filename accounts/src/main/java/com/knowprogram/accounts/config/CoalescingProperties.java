@@ -0,0 +1,19 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for coalescing concurrent identical lookups.
+ *
+ * @param enabled let concurrent callers for the same mobile number share one lookup
+ * @param maxKeys lookups in flight at once that others can join; callers beyond it run their own
+ * @param maxWait how long a caller waits for a lookup it joined before running its own
+ */
+@ConfigurationProperties(prefix = "accounts.coalescing")
+public record CoalescingProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("10000") int maxKeys,
+                                   @DefaultValue("3s") Duration maxWait) {
+}
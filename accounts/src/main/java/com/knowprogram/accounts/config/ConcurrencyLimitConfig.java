@@ -0,0 +1,43 @@
+package com.knowprogram.accounts.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knowprogram.accounts.limiter.AdaptiveConcurrencyLimiter;
+import com.knowprogram.accounts.limiter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts the adaptive concurrency limit in front of the short {@code /api} endpoints; actuator stays reachable under
+ * load. The bulk and streaming endpoints ({@code /api/import}, {@code /api/export},
+ * {@code /api/fetchCustomerDetailsBatch} and {@code /api/deleteBatch}) stay outside it: they run for as long as their
+ * input or output takes, which would read as rising latency and shrink the limit for every short request, while each
+ * holds a single slot for all of that time.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "accounts.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, objectMapper));
+        registration.addUrlPatterns("/api/create", "/api/fetch", "/api/list", "/api/update", "/api/delete",
+                "/api/fetchCustomerDetails", "/api/fetchCustomerDetailsReactive");
+        // after the observation filter, so rejected requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
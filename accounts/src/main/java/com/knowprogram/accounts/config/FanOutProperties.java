@@ -0,0 +1,25 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the loans/cards legs of the customer details aggregation.
+ *
+ * @param enabled       run the legs concurrently; when false they run one after the other on the request thread
+ * @param maxThreads    size of the pool the legs run on; ignored with {@code spring.threads.virtual.enabled}, where
+ *                      every leg gets its own virtual thread
+ * @param queueCapacity legs waiting for a free thread; further legs are rejected and answered like a failed call.
+ *                      Ignored with virtual threads
+ * @param loansTimeout  deadline for the loans leg
+ * @param cardsTimeout  deadline for the cards leg
+ */
+@ConfigurationProperties(prefix = "accounts.fan-out")
+public record FanOutProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("32") int maxThreads,
+                               @DefaultValue("200") int queueCapacity,
+                               @DefaultValue("2s") Duration loansTimeout,
+                               @DefaultValue("2s") Duration cardsTimeout) {
+}
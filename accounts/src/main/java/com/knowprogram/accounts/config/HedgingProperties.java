@@ -0,0 +1,24 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for hedging the GET calls of the Feign clients.
+ *
+ * @param enabled    send a second request to another instance when the first one is slow
+ * @param delay      fixed wait before hedging; when unset the wait follows {@code percentile} of the recent latency
+ *                   of the target
+ * @param percentile latency percentile used as the hedge delay when {@code delay} is unset
+ * @param minDelay   lower bound of the adaptive delay
+ * @param maxRate    hedges allowed per call, averaged over time (0.05 = at most 5% extra requests)
+ */
+@ConfigurationProperties(prefix = "accounts.hedging")
+public record HedgingProperties(@DefaultValue("true") boolean enabled,
+                                Duration delay,
+                                @DefaultValue("0.95") double percentile,
+                                @DefaultValue("20ms") Duration minDelay,
+                                @DefaultValue("0.05") double maxRate) {
+}
@@ -0,0 +1,64 @@
+package com.knowprogram.accounts.config;
+
+import com.knowprogram.accounts.client.HedgingFeignClient;
+import com.knowprogram.accounts.client.PooledFeignClient;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+
+/**
+ * Puts {@link PooledFeignClient} under the load balancer in place of Feign's default {@code HttpURLConnection}
+ * client, which opens a connection per call unless the JDK keep-alive cache happens to have one. With
+ * {@code accounts.hedging.enabled} the calls pass through {@link HedgingFeignClient} on their way to the pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({HttpClientProperties.class, HedgingProperties.class})
+@ConditionalOnProperty(prefix = "accounts.http-client", name = "enabled", matchIfMissing = true)
+public class HttpClientConfig {
+
+    @Bean
+    public PooledFeignClient pooledFeignClient(HttpClientProperties properties,
+                                               FeignClientProperties feignClientProperties,
+                                               MeterRegistry meterRegistry) {
+        // the pool applies its own timeouts and never sees the Request.Options Feign builds from these
+        feignClientProperties.getConfig().forEach((client, config) -> {
+            if (config.getConnectTimeout() != null || config.getReadTimeout() != null) {
+                throw new IllegalStateException("spring.cloud.openfeign.client.config." + client + " sets timeouts " +
+                        "the pooled Feign transport does not apply; set them under accounts.http-client instead");
+            }
+        });
+        return new PooledFeignClient(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.hedging", name = "enabled", matchIfMissing = true)
+    public HedgingFeignClient hedgingFeignClient(PooledFeignClient pooledFeignClient, DiscoveryClient discoveryClient,
+                                                 HedgingProperties properties, MeterRegistry meterRegistry) {
+        return new HedgingFeignClient(pooledFeignClient, discoveryClient, properties, meterRegistry);
+    }
+
+    // PooledFeignClient and HedgingFeignClient are Clients as well; the Feign clients must pick the load-balancing one
+    @Bean
+    @Primary
+    public Client feignClient(PooledFeignClient pooledFeignClient, ObjectProvider<HedgingFeignClient> hedgingFeignClient,
+                              LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              List<LoadBalancerFeignRequestTransformer> transformers) {
+        Client delegate = hedgingFeignClient.getIfAvailable();
+        return new FeignBlockingLoadBalancerClient(delegate != null ? delegate : pooledFeignClient, loadBalancerClient,
+                loadBalancerClientFactory, transformers);
+    }
+}
@@ -0,0 +1,63 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the pooled transport behind the Feign clients.
+ *
+ * @param enabled  use the pooled transport; when false Feign falls back to its default
+ *                 {@code HttpURLConnection} client
+ * @param defaults pool settings of every client, unless overridden under {@code targets}
+ * @param targets  pool settings per Feign client name ({@code loans}, {@code cards}); settings left out are taken
+ *                 from {@code defaults}
+ */
+@ConfigurationProperties(prefix = "accounts.http-client")
+public record HttpClientProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue Pool defaults,
+                                   Map<String, PoolOverrides> targets) {
+
+    public Pool pool(String target) {
+        PoolOverrides overrides = targets != null ? targets.get(target) : null;
+        return overrides != null ? overrides.over(defaults) : defaults;
+    }
+
+    /**
+     * @param maxConnections  connections to a single instance of the target, which caps its calls in flight
+     * @param maxTotal        connections across all instances of the target
+     * @param connectTimeout  deadline for establishing a connection
+     * @param responseTimeout deadline for the response once the request was sent
+     * @param leaseTimeout    how long a call waits for a free connection when the pool is exhausted
+     * @param idleTimeout     idle connections are closed after this long
+     */
+    public record Pool(@DefaultValue("50") int maxConnections,
+                       @DefaultValue("200") int maxTotal,
+                       @DefaultValue("1s") Duration connectTimeout,
+                       @DefaultValue("2s") Duration responseTimeout,
+                       @DefaultValue("500ms") Duration leaseTimeout,
+                       @DefaultValue("30s") Duration idleTimeout) {
+    }
+
+    /**
+     * A {@link Pool} for one target in which every setting left out ({@code null}) comes from the defaults.
+     */
+    public record PoolOverrides(Integer maxConnections,
+                                Integer maxTotal,
+                                Duration connectTimeout,
+                                Duration responseTimeout,
+                                Duration leaseTimeout,
+                                Duration idleTimeout) {
+
+        Pool over(Pool defaults) {
+            return new Pool(maxConnections != null ? maxConnections : defaults.maxConnections(),
+                    maxTotal != null ? maxTotal : defaults.maxTotal(),
+                    connectTimeout != null ? connectTimeout : defaults.connectTimeout(),
+                    responseTimeout != null ? responseTimeout : defaults.responseTimeout(),
+                    leaseTimeout != null ? leaseTimeout : defaults.leaseTimeout(),
+                    idleTimeout != null ? idleTimeout : defaults.idleTimeout());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.knowprogram.accounts.config;
+
+import com.knowprogram.accounts.constants.AccountConstants;
+import com.knowprogram.accounts.idgen.IdBlockSource;
+import com.knowprogram.accounts.idgen.JdbcIdBlockSource;
+import com.knowprogram.accounts.idgen.SegmentedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdBlockSource idBlockSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcIdBlockSource(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public SegmentedIdGenerator accountNumberGenerator(IdBlockSource idBlockSource,
+                                                       @Value("${accounts.id-block-size:100}") int blockSize) {
+        return new SegmentedIdGenerator(idBlockSource, AccountConstants.ACCOUNT_NUMBER_SEQUENCE,
+                AccountConstants.ACCOUNT_NUMBER_START, AccountConstants.ACCOUNT_NUMBER_MAX, blockSize);
+    }
+}
@@ -0,0 +1,13 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the bulk customer import.
+ *
+ * @param chunkSize rows deduplicated and inserted per JDBC batch and transaction
+ */
+@ConfigurationProperties(prefix = "accounts.import")
+public record ImportProperties(@DefaultValue("500") int chunkSize) {
+}
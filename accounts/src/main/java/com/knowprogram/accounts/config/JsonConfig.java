@@ -0,0 +1,21 @@
+package com.knowprogram.accounts.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link BlackbirdModule} with the application's {@code ObjectMapper}, which Spring Boot builds with every
+ * {@code Module} bean in the context. Blackbird keeps Jackson's bean serializers, and with them inclusion, naming
+ * strategies and mixins, but calls getters and setters through generated lambdas instead of reflection.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "accounts.json", name = "blackbird-enabled", matchIfMissing = true)
+public class JsonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,19 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the copies of recent cards and loans responses the Feign fallbacks serve.
+ *
+ * @param enabled record successful responses and serve them from the fallbacks
+ * @param maxSize mobile numbers kept per downstream
+ * @param maxAge  how long after it was received a response may still be served
+ */
+@ConfigurationProperties(prefix = "accounts.last-known-good")
+public record LastKnownGoodProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("100000") long maxSize,
+                                      @DefaultValue("30m") Duration maxAge) {
+}
@@ -0,0 +1,34 @@
+package com.knowprogram.accounts.config;
+
+import com.knowprogram.accounts.bloom.JdbcMobileNumberSource;
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
+import com.knowprogram.accounts.bloom.MobileNumberFilterRebuildJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The Bloom filter of customer mobile numbers and the job rebuilding it from the {@code customer} table. The filter
+ * bean is there even when disabled, letting every number through.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MobileNumberFilterProperties.class)
+public class MobileNumberFilterConfig {
+
+    @Bean
+    public MobileNumberFilter mobileNumberFilter(MobileNumberFilterProperties properties, JdbcTemplate jdbcTemplate,
+                                                 MeterRegistry meterRegistry) {
+        return new MobileNumberFilter(properties, new JdbcMobileNumberSource(jdbcTemplate, "customer"),
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.mobile-number-filter", name = "enabled", matchIfMissing = true)
+    public MobileNumberFilterRebuildJob mobileNumberFilterRebuildJob(MobileNumberFilter mobileNumberFilter,
+                                                                     MobileNumberFilterProperties properties) {
+        return new MobileNumberFilterRebuildJob(mobileNumberFilter, properties.rebuildInterval());
+    }
+}
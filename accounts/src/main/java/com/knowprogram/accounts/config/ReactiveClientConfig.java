@@ -0,0 +1,57 @@
+package com.knowprogram.accounts.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load-balanced WebClients for the reactive customer details path, one per target with its own connection pool,
+ * sized and timed out like the Feign transport from the {@code accounts.http-client} settings. The pools publish
+ * the {@code reactor.netty.connection.provider.*} metrics.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HttpClientProperties.class)
+@ConditionalOnProperty(prefix = "accounts.customer-service", name = "implementation", havingValue = "reactive")
+public class ReactiveClientConfig {
+
+    @Bean
+    public WebClient loansWebClient(WebClient.Builder webClientBuilder,
+                                    ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                    HttpClientProperties properties) {
+        return webClient("loans", webClientBuilder, loadBalancerFunction, properties);
+    }
+
+    @Bean
+    public WebClient cardsWebClient(WebClient.Builder webClientBuilder,
+                                    ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                    HttpClientProperties properties) {
+        return webClient("cards", webClientBuilder, loadBalancerFunction, properties);
+    }
+
+    private static WebClient webClient(String target, WebClient.Builder webClientBuilder,
+                                       ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                       HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.pool(target);
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(target)
+                .maxConnections(pool.maxTotal())
+                .pendingAcquireTimeout(pool.leaseTimeout())
+                .maxIdleTime(pool.idleTimeout())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.connectTimeout().toMillis())
+                .responseTimeout(pool.responseTimeout());
+        return webClientBuilder.clone()
+                .baseUrl("http://" + target)
+                .filter(loadBalancerFunction)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.knowprogram.accounts.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * With {@code spring.threads.virtual.enabled} Boot already runs Tomcat requests on virtual threads. The circuit
+ * breaker wrapping every Feign call hands the call to its own cached pool of platform threads though, which would
+ * bring back one platform thread per in-flight downstream call; this moves those calls to virtual threads too.
+ * The bulkheads in front of the Feign calls are semaphore ones, which only cap the calls per downstream and leave
+ * them on these virtual threads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakerCustomizer() {
+        return factory -> factory.configureExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
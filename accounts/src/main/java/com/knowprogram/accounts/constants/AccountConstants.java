@@ -3,15 +3,33 @@ package com.knowprogram.accounts.constants;
 public interface AccountConstants {
     String  SAVINGS = "Savings";
     String  ADDRESS = "123 Main Street, New York";
+    String  ACCOUNTS_CACHE = "accounts";
+    String  ACCOUNT_NUMBER_SEQUENCE = "account_number";
+    long    ACCOUNT_NUMBER_START = 1_000_000_000L;
+    // account_number is an INT column
+    long    ACCOUNT_NUMBER_MAX = Integer.MAX_VALUE;
     String  STATUS_201 = "201";
     String  MESSAGE_201 = "Account created successfully";
     String  STATUS_200 = "200";
     String  MESSAGE_200 = "Request processed successfully";
     String  MESSAGE_500 = "Internal server error. Please try again or contact Dev team";
     String  STATUS_500 = "500";
+    String  STATUS_409 = "409";
+    String  MESSAGE_409 = "The account was modified by another request. Please reload and try again";
     String  STATUS_417 = "417";
     String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    String  NDJSON = "application/x-ndjson";
+    String  CSV = "text/csv";
+    String  IMPORT_CREATED = "CREATED";
+    String  IMPORT_DUPLICATE = "DUPLICATE";
+    String  IMPORT_INVALID = "INVALID";
+    String  IMPORT_FAILED = "FAILED";
+    String  MESSAGE_IMPORT_CONSTRAINT = "Customer could not be created, the email or mobile number is already registered";
+    int     BATCH_MAX_SIZE = 10000;
+    String  EXPORT_FETCH_SIZE = "1000";
+    int     PAGE_DEFAULT_SIZE = 50;
+    int     PAGE_MAX_SIZE = 500;
 }
 
 
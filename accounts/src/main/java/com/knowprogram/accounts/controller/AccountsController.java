@@ -1,8 +1,12 @@
 package com.knowprogram.accounts.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.knowprogram.accounts.constants.AccountConstants;
 import com.knowprogram.accounts.dto.*;
 import com.knowprogram.accounts.service.IAccountService;
+import com.knowprogram.accounts.service.IBulkImportService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,18 +15,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 
 @Tag(name = "CRUD REST APIs for Accounts", description =
@@ -37,6 +54,12 @@ public class AccountsController {
     @Autowired
     private IAccountService accountService;
 
+    @Autowired
+    private IBulkImportService bulkImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${build.version}")
     private String buildVersion;
 
@@ -57,6 +80,54 @@ public class AccountsController {
                 AccountConstants.MESSAGE_201));
     }
 
+    @Operation(summary = "Bulk Import REST API", description = "REST API to create many Customers & Accounts from " +
+            "an NDJSON or CSV upload. Streams one JSON line per row with its outcome")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @PostMapping(value = "/import", consumes = {AccountConstants.NDJSON, AccountConstants.CSV}, produces =
+            AccountConstants.NDJSON)
+    public void importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body,
+                               HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(AccountConstants.NDJSON);
+        try (SequenceWriter sequenceWriter =
+                     objectMapper.writerFor(ImportRowResultDto.class).withRootValueSeparator("\n")
+                             .writeValues(response.getOutputStream())) {
+            bulkImportService.importCustomers(body, MediaType.parseMediaType(contentType), chunk -> {
+                try {
+                    sequenceWriter.writeAll(chunk);
+                    sequenceWriter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Operation(summary = "Export Accounts REST API", description = "REST API to export every Customer & Account. " +
+            "Streams one JSON line per customer")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @GetMapping(value = "/export", produces = AccountConstants.NDJSON)
+    public void exportAccounts(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(AccountConstants.NDJSON);
+        try (SequenceWriter sequenceWriter =
+                     objectMapper.writerFor(CustomerDTO.class).withRootValueSeparator("\n")
+                             .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                             .writeValues(response.getOutputStream())) {
+            accountService.exportAccounts(customerDTO -> {
+                try {
+                    sequenceWriter.write(customerDTO);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @Operation(summary = "Fetch Account REST API", description = "REST API to fetch account details")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
             @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
@@ -67,8 +138,32 @@ public class AccountsController {
         return ResponseEntity.status(HttpStatus.OK).body(accountService.fetchAccount(mobileNumber));
     }
 
+    @Operation(summary = "List Accounts REST API", description = "REST API to page through Customers & Accounts " +
+            "in customer id order. Pass nextPageToken of a page as pageToken to get the next one, with the same " +
+            "filters")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "400", description = "HTTP Status 400 - Bad Request", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @GetMapping("/list")
+    public ResponseEntity<CustomerPageDto> listAccounts(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = "" + AccountConstants.PAGE_DEFAULT_SIZE) @Min(1)
+            @Max(AccountConstants.PAGE_MAX_SIZE) int size,
+            @RequestParam(required = false) String accountType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime createdTo) {
+        return ResponseEntity.status(HttpStatus.OK).body(accountService.listAccounts(pageToken, size, accountType,
+                createdFrom, createdTo));
+    }
+
     @Operation(summary = "Update Account REST API", description = "REST API to update existing Customer & Account")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "409", description = "HTTP Status 409 - Conflict", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
             @ApiResponse(responseCode = "417", description = "HTTP Status 417 - Expectation Failed"),
             @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
             @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
@@ -94,6 +189,19 @@ public class AccountsController {
                         , AccountConstants.MESSAGE_417_DELETE));
     }
 
+    @Operation(summary = "Bulk Delete Account REST API", description = "REST API to offboard many Customers & " +
+            "Accounts, chunk by chunk, and report how many rows were deleted")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @PostMapping("/deleteBatch")
+    public ResponseEntity<OffboardingResultDto> deleteAccounts(
+            @RequestBody @NotEmpty @Size(max = AccountConstants.BATCH_MAX_SIZE, message = "At most " +
+                    AccountConstants.BATCH_MAX_SIZE + " mobile numbers can be deleted per request")
+            List<@Pattern(regexp = "[0-9]{10}", message = "Mobile Number must be 10 digits") String> mobileNumbers) {
+        return ResponseEntity.status(HttpStatus.OK).body(accountService.deleteAccounts(mobileNumbers));
+    }
+
     @Operation(summary = "Get Build Version REST API", description = "REST API to get build version")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK")})
     @GetMapping("/build-info")
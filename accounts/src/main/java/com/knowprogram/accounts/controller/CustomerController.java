@@ -1,6 +1,10 @@
 package com.knowprogram.accounts.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.knowprogram.accounts.constants.AccountConstants;
 import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDetailsBatchItemDto;
 import com.knowprogram.accounts.dto.CustomerDetailsDTO;
 import com.knowprogram.accounts.dto.ErrorResponseDTO;
 import com.knowprogram.accounts.service.ICustomerService;
@@ -10,7 +14,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +26,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @Tag(name = "CRUD REST APIs for Customers", description =
         "CRUD REST APIs for PeopleBank to fetch customer details")
@@ -32,6 +44,9 @@ public class CustomerController {
     @Autowired
     private ICustomerService customerService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Fetch Customer Details REST API", description = "REST API to fetch Customer All details")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
             @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
@@ -46,4 +61,49 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.OK).body(customerAllDetailsDto);
     }
 
+    @Operation(summary = "Fetch Customer Details Reactive REST API", description = "REST API to fetch Customer All " +
+            "details without holding a request thread while cards and loans answer")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @GetMapping("/fetchCustomerDetailsReactive")
+    public Mono<ResponseEntity<CustomerAllDetailsDto>> fetchCustomerDetailsReactive(
+            @RequestHeader("peoplebank-correlation-id") String correlationId,
+            @RequestParam @Pattern(regexp = "(^$|[0-9]{10})", message
+            = "Mobile Number must be 10 digits") String mobileNumber) {
+        logger.debug("peoplebank-correlation-id found: {}", correlationId);
+        return customerService.fetchCustomerDetailsReactive(mobileNumber, correlationId)
+                .map(customerAllDetailsDto -> ResponseEntity.status(HttpStatus.OK).body(customerAllDetailsDto));
+    }
+
+    @Operation(summary = "Fetch Customer Details Batch REST API", description = "REST API to fetch Customer All " +
+            "details for many mobile numbers. Streams one JSON line per mobile number, with found=false when the " +
+            "customer does not exist")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status 200 - OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status 500 - Internal Server Error", content =
+            @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))})
+    @PostMapping(value = "/fetchCustomerDetailsBatch", produces = AccountConstants.NDJSON)
+    public void fetchCustomerDetailsBatch(
+            @RequestHeader("peoplebank-correlation-id") String correlationId,
+            @RequestBody @NotEmpty @Size(max = AccountConstants.BATCH_MAX_SIZE, message = "At most " +
+                    AccountConstants.BATCH_MAX_SIZE + " mobile numbers can be fetched per request")
+            List<@Pattern(regexp = "[0-9]{10}", message = "Mobile Number must be 10 digits") String> mobileNumbers,
+            HttpServletResponse response) throws IOException {
+        logger.debug("peoplebank-correlation-id found: {}", correlationId);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(AccountConstants.NDJSON);
+        try (SequenceWriter sequenceWriter =
+                     objectMapper.writerFor(CustomerDetailsBatchItemDto.class).withRootValueSeparator("\n")
+                             .writeValues(response.getOutputStream())) {
+            customerService.fetchCustomerDetailsBatch(mobileNumbers, correlationId, chunk -> {
+                try {
+                    sequenceWriter.writeAll(chunk);
+                    sequenceWriter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
 }
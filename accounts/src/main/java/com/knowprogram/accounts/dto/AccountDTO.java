@@ -21,4 +21,8 @@ public class AccountDTO {
     @Schema(description = "Branch Address", example = "123 New York Street")
     @NotEmpty(message = "Branch Address should not be null or empty")
     private String branchAddress;
+
+    @Schema(description = "Version of the account as last fetched; an update carrying an older one is rejected",
+            example = "0")
+    private Long version;
 }
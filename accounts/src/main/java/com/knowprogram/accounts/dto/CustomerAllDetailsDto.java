@@ -30,4 +30,7 @@ public class CustomerAllDetailsDto {
     private LoansDto loansDto;
     @Schema(description = "Cards Details of the customer")
     private CardsDto cardsDto;
+
+    @Schema(description = "True when cards or loans details are a recent copy served because the service did not answer")
+    private boolean stale;
 }
@@ -36,6 +36,12 @@ public class CustomerDTO {
     @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile Number must be 10 digits")
     private String mobileNumber;
 
+    @Schema(
+            description = "Version of the customer as last fetched; an update carrying an older one is rejected",
+            example = "0"
+    )
+    private Long version;
+
     @Schema(
             description = "Account Details of the customer"
     )
@@ -0,0 +1,22 @@
+package com.knowprogram.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "CustomerDetailsBatchItem", description = "Schema to hold one line of the batch customer details response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDetailsBatchItemDto {
+
+    @Schema(description = "Mobile Number that was requested", example = "1234567890")
+    private String mobileNumber;
+
+    @Schema(description = "Whether a customer with an account exists for the mobile number")
+    private boolean found;
+
+    @Schema(description = "Customer, Account, Cards and Loans details, absent when not found")
+    private CustomerAllDetailsDto customerDetails;
+}
@@ -0,0 +1,22 @@
+package com.knowprogram.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(name = "CustomerPage", description = "Schema to hold one page of the customer listing")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageDto {
+
+    @Schema(description = "Customers of this page with their Account details")
+    private List<CustomerDTO> customers;
+
+    @Schema(description = "Opaque token to pass as pageToken for the next page, absent on the last page",
+            example = "MTAwMA")
+    private String nextPageToken;
+}
@@ -0,0 +1,28 @@
+package com.knowprogram.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "ImportRowResult", description = "Schema to hold the outcome of one row of a bulk import")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowResultDto {
+
+    @Schema(description = "Row number in the uploaded file, not counting the CSV header", example = "1")
+    private long row;
+
+    @Schema(description = "Mobile Number of the row", example = "1234567890")
+    private String mobileNumber;
+
+    @Schema(description = "Outcome of the row", example = "CREATED")
+    private String status;
+
+    @Schema(description = "Account Number created for the row", example = "1234567890")
+    private Long accountNumber;
+
+    @Schema(description = "Reason the row was not created", example = "Mobile Number must be 10 digits")
+    private String message;
+}
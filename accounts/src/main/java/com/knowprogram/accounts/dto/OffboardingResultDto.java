@@ -0,0 +1,22 @@
+package com.knowprogram.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "OffboardingResult", description = "Schema to hold the row counts of a bulk offboarding run")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffboardingResultDto {
+
+    @Schema(description = "Distinct mobile numbers in the request", example = "1000")
+    private int requested;
+
+    @Schema(description = "Customer rows deleted", example = "998")
+    private int customersDeleted;
+
+    @Schema(description = "Account rows deleted", example = "998")
+    private int accountsDeleted;
+}
@@ -1,10 +1,12 @@
 package com.knowprogram.accounts.exception;
 
+import com.knowprogram.accounts.constants.AccountConstants;
 import com.knowprogram.accounts.dto.ErrorResponseDTO;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -39,12 +41,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidPageTokenException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidPageTokenException(InvalidPageTokenException exception, WebRequest webRequest) {
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder().apiPath(webRequest.getDescription(false)).errorCode(HttpStatus.BAD_REQUEST).errorMessage(exception.getMessage()).errorTime(LocalDateTime.now()).build();
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(ResourceNotFoundException exception, WebRequest webRequest) {
         ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder().apiPath(webRequest.getDescription(false)).errorCode(HttpStatus.NOT_FOUND).errorMessage(exception.getMessage()).errorTime(LocalDateTime.now()).build();
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException exception, WebRequest webRequest) {
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder().apiPath(webRequest.getDescription(false)).errorCode(HttpStatus.CONFLICT).errorMessage(AccountConstants.MESSAGE_409).errorTime(LocalDateTime.now()).build();
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGlobalException(Exception exception, WebRequest webRequest) {
         ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder().apiPath(webRequest.getDescription(false)).errorCode(HttpStatus.INTERNAL_SERVER_ERROR).errorMessage(exception.getMessage()).errorTime(LocalDateTime.now()).build();
@@ -0,0 +1,12 @@
+package com.knowprogram.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidPageTokenException extends RuntimeException {
+    public InvalidPageTokenException(String pageToken) {
+        super("Invalid page token " + pageToken);
+    }
+
+}
@@ -3,9 +3,13 @@ package com.knowprogram.accounts.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Only ever turned into a 404, so it skips capturing a stack trace, which every lookup of an unknown mobile number
+ * would otherwise pay for.
+ */
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException{
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
-        super(String.format("%s not found with %s : '%s'", resourceName, fieldName, fieldValue));
+        super(resourceName + " not found with " + fieldName + " : '" + fieldValue + "'", null, false, false);
     }
 }
@@ -0,0 +1,67 @@
+package com.knowprogram.accounts.idgen;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reserves blocks from the {@code id_block} table with a compare-and-set update, so instances sharing the database
+ * never receive the same block. Every reservation commits in its own transaction: a block stays reserved even if
+ * the business transaction that triggered it rolls back, otherwise another instance could be handed the same
+ * values while this one is still using them.
+ */
+public class JdbcIdBlockSource implements IdBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcIdBlockSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserve(String sequenceName, long initialValue, long maxValue, int blockSize) {
+        while (true) {
+            Long start = transactionTemplate.execute(status -> tryReserve(sequenceName, initialValue, maxValue,
+                    blockSize));
+            if (start != null) {
+                return start;
+            }
+        }
+    }
+
+    private Long tryReserve(String sequenceName, long initialValue, long maxValue, int blockSize) {
+        List<Long> current = jdbcTemplate.queryForList("SELECT next_value FROM id_block WHERE sequence_name = ?",
+                Long.class, sequenceName);
+        if (current.isEmpty()) {
+            checkNotExhausted(sequenceName, initialValue, maxValue);
+            try {
+                jdbcTemplate.update("INSERT INTO id_block (sequence_name, next_value) VALUES (?, ?)", sequenceName,
+                        IdBlockSource.blockEnd(initialValue, maxValue, blockSize));
+                return initialValue;
+            } catch (DuplicateKeyException ex) {
+                // another instance created the sequence first
+                return null;
+            }
+        }
+        // a raised initial value moves an existing sequence up to it
+        long start = Math.max(current.get(0), initialValue);
+        checkNotExhausted(sequenceName, start, maxValue);
+        int updated = jdbcTemplate.update("UPDATE id_block SET next_value = ? WHERE sequence_name = ? AND " +
+                "next_value = ?", IdBlockSource.blockEnd(start, maxValue, blockSize), sequenceName, current.get(0));
+        return updated == 1 ? start : null;
+    }
+
+    private static void checkNotExhausted(String sequenceName, long start, long maxValue) {
+        if (start > maxValue) {
+            throw new IllegalStateException("Sequence " + sequenceName + " is exhausted, every value up to " +
+                    maxValue + " has been handed out");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.knowprogram.accounts.idgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates unique numbers from blocks reserved through an {@link IdBlockSource}. Taking a number from the
+ * current block is a single atomic increment; only the thread that exhausts a block takes a lock to reserve
+ * the next one. Once the sequence passes its maximum value every call fails instead of handing out a number
+ * outside the range.
+ */
+public class SegmentedIdGenerator {
+
+    private final IdBlockSource idBlockSource;
+    private final String sequenceName;
+    private final long initialValue;
+    private final long maxValue;
+    private final int blockSize;
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(new Block(0, 0));
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public SegmentedIdGenerator(IdBlockSource idBlockSource, String sequenceName, long initialValue, long maxValue,
+                                int blockSize) {
+        this.idBlockSource = idBlockSource;
+        this.sequenceName = sequenceName;
+        this.initialValue = initialValue;
+        this.maxValue = maxValue;
+        this.blockSize = blockSize;
+    }
+
+    public long next() {
+        while (true) {
+            Block block = currentBlock.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (currentBlock.get() == exhausted) {
+                long start = idBlockSource.reserve(sequenceName, initialValue, maxValue, blockSize);
+                currentBlock.set(new Block(start, IdBlockSource.blockEnd(start, maxValue, blockSize)));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
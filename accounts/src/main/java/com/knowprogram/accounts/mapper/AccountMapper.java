@@ -2,12 +2,30 @@ package com.knowprogram.accounts.mapper;
 
 import com.knowprogram.accounts.dto.AccountDTO;
 import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
 
 public class AccountMapper {
     public static AccountDTO mapToAccountDTO(Account account, AccountDTO accountDTO) {
         accountDTO.setAccountNumber(account.getAccountNumber());
         accountDTO.setAccountType(account.getAccountType());
         accountDTO.setBranchAddress(account.getBranchAddress());
+        accountDTO.setVersion(account.getVersion());
+        return accountDTO;
+    }
+
+    public static AccountDTO mapToAccountDTO(CustomerAccountProjection projection, AccountDTO accountDTO) {
+        accountDTO.setAccountNumber(projection.accountNumber());
+        accountDTO.setAccountType(projection.accountType());
+        accountDTO.setBranchAddress(projection.branchAddress());
+        accountDTO.setVersion(projection.accountVersion());
+        return accountDTO;
+    }
+
+    public static AccountDTO mapToAccountDTO(AccountDTO source, AccountDTO accountDTO) {
+        accountDTO.setAccountNumber(source.getAccountNumber());
+        accountDTO.setAccountType(source.getAccountType());
+        accountDTO.setBranchAddress(source.getBranchAddress());
+        accountDTO.setVersion(source.getVersion());
         return accountDTO;
     }
 
@@ -1,14 +1,38 @@
 package com.knowprogram.accounts.mapper;
 
+import com.knowprogram.accounts.dto.AccountDTO;
+import com.knowprogram.accounts.dto.CardsDto;
 import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
 import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.LoansDto;
 import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
 
 public class CustomerMapper {
     public static CustomerDTO mapToCustomerDTO(Customer customer, CustomerDTO customerDTO) {
         customerDTO.setName(customer.getName());
         customerDTO.setEmail(customer.getEmail());
         customerDTO.setMobileNumber(customer.getMobileNumber());
+        customerDTO.setVersion(customer.getVersion());
+        return customerDTO;
+    }
+
+    public static CustomerDTO mapToCustomerDTO(CustomerAccountProjection projection, CustomerDTO customerDTO) {
+        customerDTO.setName(projection.name());
+        customerDTO.setEmail(projection.email());
+        customerDTO.setMobileNumber(projection.mobileNumber());
+        customerDTO.setVersion(projection.customerVersion());
+        return customerDTO;
+    }
+
+    public static CustomerDTO mapToCustomerDTO(CustomerDTO source, CustomerDTO customerDTO) {
+        customerDTO.setName(source.getName());
+        customerDTO.setEmail(source.getEmail());
+        customerDTO.setMobileNumber(source.getMobileNumber());
+        customerDTO.setVersion(source.getVersion());
+        if (source.getAccountDTO() != null) {
+            customerDTO.setAccountDTO(AccountMapper.mapToAccountDTO(source.getAccountDTO(), new AccountDTO()));
+        }
         return customerDTO;
     }
 
@@ -25,4 +49,32 @@ public class CustomerMapper {
         customerAllDetailsDto.setMobileNumber(customer.getMobileNumber());
         return customerAllDetailsDto;
     }
+
+    public static CustomerAllDetailsDto mapToCustomerAllDetailsDto(CustomerAccountProjection projection, CustomerAllDetailsDto customerAllDetailsDto) {
+        customerAllDetailsDto.setName(projection.name());
+        customerAllDetailsDto.setEmail(projection.email());
+        customerAllDetailsDto.setMobileNumber(projection.mobileNumber());
+        return customerAllDetailsDto;
+    }
+
+    public static CustomerAllDetailsDto mapToCustomerAllDetailsDto(CustomerAllDetailsDto source, CustomerAllDetailsDto customerAllDetailsDto) {
+        customerAllDetailsDto.setName(source.getName());
+        customerAllDetailsDto.setEmail(source.getEmail());
+        customerAllDetailsDto.setMobileNumber(source.getMobileNumber());
+        if (source.getAccountDTO() != null) {
+            customerAllDetailsDto.setAccountDTO(AccountMapper.mapToAccountDTO(source.getAccountDTO(), new AccountDTO()));
+        }
+        LoansDto loans = source.getLoansDto();
+        if (loans != null) {
+            customerAllDetailsDto.setLoansDto(new LoansDto(loans.getMobileNumber(), loans.getLoanNumber(),
+                    loans.getLoanType(), loans.getTotalLoan(), loans.getAmountPaid(), loans.getOutstandingAmount()));
+        }
+        CardsDto cards = source.getCardsDto();
+        if (cards != null) {
+            customerAllDetailsDto.setCardsDto(new CardsDto(cards.getMobileNumber(), cards.getCardNumber(),
+                    cards.getCardType(), cards.getTotalLimit(), cards.getAmountUsed(), cards.getAvailableAmount()));
+        }
+        customerAllDetailsDto.setStale(source.isStale());
+        return customerAllDetailsDto;
+    }
 }
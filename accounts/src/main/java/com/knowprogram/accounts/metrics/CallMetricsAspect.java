@@ -0,0 +1,127 @@
+package com.knowprogram.accounts.metrics;
+
+import com.knowprogram.accounts.client.LastKnownGoodCache;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.exception.ResourceNotFoundException;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Times every service method as {@code service.calls} and every Feign call as {@code feign.client.calls}, tagged by
+ * outcome: {@code success}, {@code not-found}, {@code fallback} or {@code error}. Both publish percentile histograms,
+ * so quantiles can be aggregated across instances from the Prometheus scrape.
+ * <p>
+ * A Feign call that ends in the fallback is recognised by its result, a stale copy or {@code null}. With the circuit
+ * breaker on, a 404 from cards or loans reaches the fallback too, which answers it with an empty 404 response that is
+ * counted as {@code not-found}. A service result is a fallback when it was assembled from a stale copy.
+ */
+@Aspect
+@Component
+public class CallMetricsAspect {
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+
+    public CallMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.knowprogram.accounts.service.I*Service.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            stopServiceCall(sample, service, method, outcome(ex));
+            throw ex;
+        }
+        if (result instanceof Mono<?> mono) {
+            // time the subscription, that is where the work happens
+            return Mono.defer(() -> {
+                Timer.Sample subscription = Timer.start(meterRegistry);
+                return mono.doOnSuccess(value -> stopServiceCall(subscription, service, method, serviceOutcome(value)))
+                        .doOnError(ex -> stopServiceCall(subscription, service, method, outcome(ex)));
+            });
+        }
+        stopServiceCall(sample, service, method, serviceOutcome(result));
+        return result;
+    }
+
+    // the fallbacks implement the client interfaces too, and run inside the timed Feign call
+    @Around("execution(* com.knowprogram.accounts.client.*FeignClient.*(..)) "
+            + "&& !within(com.knowprogram.accounts.client.*Fallback)")
+    public Object timeFeignCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> clientType = joinPoint.getSignature().getDeclaringType();
+        FeignClient feignClient = AnnotatedElementUtils.findMergedAnnotation(clientType, FeignClient.class);
+        String client = feignClient != null ? feignClient.name() : clientType.getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            stop(sample, "feign.client.calls", "Latency of the Feign calls to cards and loans", "client", client,
+                    method, feignOutcome(result));
+            return result;
+        } catch (Throwable ex) {
+            stop(sample, "feign.client.calls", "Latency of the Feign calls to cards and loans", "client", client,
+                    method, outcome(ex));
+            throw ex;
+        }
+    }
+
+    private static String feignOutcome(Object result) {
+        if (result == null) {
+            return "fallback";
+        }
+        if (result instanceof ResponseEntity<?> response) {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                return "not-found";
+            }
+            if (LastKnownGoodCache.isStale(response)) {
+                return "fallback";
+            }
+        }
+        return "success";
+    }
+
+    private static String serviceOutcome(Object result) {
+        return result instanceof CustomerAllDetailsDto details && details.isStale() ? "fallback" : "success";
+    }
+
+    private static String outcome(Throwable ex) {
+        return ex instanceof ResourceNotFoundException || ex instanceof FeignException.NotFound ? "not-found" : "error";
+    }
+
+    private void stopServiceCall(Timer.Sample sample, String service, String method, String outcome) {
+        stop(sample, "service.calls", "Latency of the service methods", "service", service, method, outcome);
+    }
+
+    private void stop(Timer.Sample sample, String name, String description, String ownerTag, String owner,
+                      String method, String outcome) {
+        sample.stop(Timer.builder(name)
+                .description(description)
+                .tag(ownerTag, owner)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry));
+    }
+}
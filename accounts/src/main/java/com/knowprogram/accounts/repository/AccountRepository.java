@@ -4,13 +4,29 @@ import com.knowprogram.accounts.entity.Account;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByCustomerId(Long customerId);
 
+    List<Account> findByCustomerIdIn(Collection<Long> customerIds);
+
+    @Query("select new com.knowprogram.accounts.repository.AccountWithCustomer(a, c) "
+            + "from Account a join Customer c on c.customerId = a.customerId where a.accountNumber = :accountNumber")
+    Optional<AccountWithCustomer> findWithCustomerByAccountNumber(Long accountNumber);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Account a where a.customerId = :customerId")
+    int deleteByCustomerId(Long customerId);
+
     @Transactional
     @Modifying
-    void deleteByCustomerId(Long customerId);
+    @Query("delete from Account a where a.customerId in "
+            + "(select c.customerId from Customer c where c.mobileNumber in :mobileNumbers)")
+    int deleteByCustomerMobileNumberIn(Collection<String> mobileNumbers);
 }
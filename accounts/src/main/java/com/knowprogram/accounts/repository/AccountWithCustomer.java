@@ -0,0 +1,11 @@
+package com.knowprogram.accounts.repository;
+
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+
+/**
+ * An account and its owning customer loaded by one query. Both entities are managed by the current persistence
+ * context.
+ */
+public record AccountWithCustomer(Account account, Customer customer) {
+}
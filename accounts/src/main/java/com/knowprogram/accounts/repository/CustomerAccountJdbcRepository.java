@@ -0,0 +1,71 @@
+package com.knowprogram.accounts.repository;
+
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access for bulk writes. Customer ids are IDENTITY generated, which stops Hibernate from batching
+ * inserts, so bulk paths go through JDBC batch statements instead of the JPA repositories.
+ */
+@Repository
+public class CustomerAccountJdbcRepository {
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO customer (name, email, mobile_number, created_at, " +
+            "created_by) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT = "INSERT INTO account (customer_id, account_number, account_type, " +
+            "branch_address, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public CustomerAccountJdbcRepository(JdbcTemplate jdbcTemplate,
+                                         NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public List<String> findExistingMobileNumbers(Collection<String> mobileNumbers) {
+        return namedParameterJdbcTemplate.queryForList("SELECT mobile_number FROM customer WHERE mobile_number IN " +
+                "(:mobileNumbers)", Map.of("mobileNumbers", mobileNumbers), String.class);
+    }
+
+    public Map<String, Long> findCustomerIdsByMobileNumber(Collection<String> mobileNumbers) {
+        Map<String, Long> customerIds = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT customer_id, mobile_number FROM customer WHERE mobile_number IN " +
+                        "(:mobileNumbers)", Map.of("mobileNumbers", mobileNumbers),
+                rs -> {
+                    customerIds.put(rs.getString("mobile_number"), rs.getLong("customer_id"));
+                });
+        return customerIds;
+    }
+
+    public void insertCustomers(List<Customer> customers) {
+        jdbcTemplate.batchUpdate(INSERT_CUSTOMER, customers, customers.size(), (ps, customer) -> {
+            ps.setString(1, customer.getName());
+            ps.setString(2, customer.getEmail());
+            ps.setString(3, customer.getMobileNumber());
+            ps.setTimestamp(4, Timestamp.valueOf(customer.getCreatedAt()));
+            ps.setString(5, customer.getCreatedBy());
+        });
+    }
+
+    public void insertAccounts(List<Account> accounts) {
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accounts, accounts.size(), (ps, account) -> {
+            ps.setLong(1, account.getCustomerId());
+            ps.setLong(2, account.getAccountNumber());
+            ps.setString(3, account.getAccountType());
+            ps.setString(4, account.getBranchAddress());
+            ps.setTimestamp(5, Timestamp.valueOf(account.getCreatedAt()));
+            ps.setString(6, account.getCreatedBy());
+        });
+    }
+}
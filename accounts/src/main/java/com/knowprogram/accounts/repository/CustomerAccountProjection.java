@@ -0,0 +1,10 @@
+package com.knowprogram.accounts.repository;
+
+/**
+ * Read-only view of a customer joined with its account. The account columns are null when the customer has no
+ * account.
+ */
+public record CustomerAccountProjection(Long customerId, String name, String email, String mobileNumber,
+                                        Long customerVersion, Long accountNumber, String accountType,
+                                        String branchAddress, Long accountVersion) {
+}
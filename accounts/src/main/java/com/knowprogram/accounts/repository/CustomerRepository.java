@@ -1,10 +1,66 @@
 package com.knowprogram.accounts.repository;
 
 import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.constants.AccountConstants;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    List<Customer> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    @Query("select new com.knowprogram.accounts.repository.CustomerAccountProjection(c.customerId, c.name, c.email, "
+            + "c.mobileNumber, c.version, a.accountNumber, a.accountType, a.branchAddress, a.version) "
+            + "from Customer c left join Account a on a.customerId = c.customerId where c.mobileNumber = :mobileNumber")
+    Optional<CustomerAccountProjection> findCustomerAccountByMobileNumber(String mobileNumber);
+
+    /**
+     * Keyset page of customer ids after {@code afterCustomerId}. It reads the customer table alone so the primary
+     * key index also provides the order and the cost of a page does not depend on its depth; joining account here
+     * makes the database sort every remaining row first. Null filters are ignored.
+     */
+    @Query("select c.customerId from Customer c where c.customerId > :afterCustomerId "
+            + "and (:accountType is null or exists (select 1 from Account a where a.customerId = c.customerId "
+            + "and a.accountType = :accountType)) "
+            + "and (:createdFrom is null or c.createdAt >= :createdFrom) "
+            + "and (:createdTo is null or c.createdAt < :createdTo) "
+            + "order by c.customerId")
+    List<Long> findPageIdsAfter(long afterCustomerId, String accountType, LocalDateTime createdFrom,
+                                LocalDateTime createdTo, Limit limit);
+
+    @Query("select new com.knowprogram.accounts.repository.CustomerAccountProjection(c.customerId, c.name, c.email, "
+            + "c.mobileNumber, c.version, a.accountNumber, a.accountType, a.branchAddress, a.version) "
+            + "from Customer c left join Account a on a.customerId = c.customerId "
+            + "where c.customerId in :customerIds and (:accountType is null or a.accountType = :accountType) "
+            + "order by c.customerId")
+    List<CustomerAccountProjection> findCustomerAccountsByCustomerIdIn(Collection<Long> customerIds,
+                                                                       String accountType);
+
+    /**
+     * Forward-only cursor over every customer and its account. Must be consumed, and closed, inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AccountConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.knowprogram.accounts.repository.CustomerAccountProjection(c.customerId, c.name, c.email, "
+            + "c.mobileNumber, c.version, a.accountNumber, a.accountType, a.branchAddress, a.version) "
+            + "from Customer c left join Account a on a.customerId = c.customerId order by c.customerId")
+    Stream<CustomerAccountProjection> streamAllCustomerAccounts();
+
+    @Transactional
+    @Modifying
+    @Query("delete from Customer c where c.mobileNumber in :mobileNumbers")
+    int deleteByMobileNumberIn(Collection<String> mobileNumbers);
 }
@@ -1,23 +1,49 @@
 package com.knowprogram.accounts.service;
 
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
+import com.knowprogram.accounts.coalescing.SingleFlight;
+import com.knowprogram.accounts.config.BatchProperties;
 import com.knowprogram.accounts.constants.AccountConstants;
 import com.knowprogram.accounts.dto.AccountDTO;
 import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.CustomerPageDto;
+import com.knowprogram.accounts.dto.OffboardingResultDto;
 import com.knowprogram.accounts.entity.Account;
 import com.knowprogram.accounts.entity.Customer;
 import com.knowprogram.accounts.exception.CustomerAlreadyExistsException;
+import com.knowprogram.accounts.exception.InvalidPageTokenException;
 import com.knowprogram.accounts.exception.ResourceNotFoundException;
+import com.knowprogram.accounts.idgen.SegmentedIdGenerator;
 import com.knowprogram.accounts.mapper.AccountMapper;
 import com.knowprogram.accounts.mapper.CustomerMapper;
 import com.knowprogram.accounts.repository.AccountRepository;
+import com.knowprogram.accounts.repository.AccountWithCustomer;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
 import com.knowprogram.accounts.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@EnableConfigurationProperties(BatchProperties.class)
 public class AccountServiceImpl implements IAccountService {
 
     @Autowired
@@ -26,23 +52,55 @@ public class AccountServiceImpl implements IAccountService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private SegmentedIdGenerator accountNumberGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
+    @Autowired
+    private SingleFlight<String, CustomerDTO> accountSingleFlight;
+
+    @Autowired
+    private MobileNumberFilter mobileNumberFilter;
+
+    private final Cache accountsCache;
+
+    public AccountServiceImpl(CacheManager cacheManager) {
+        // evictions issued inside a transaction are deferred until it commits
+        this.accountsCache = new TransactionAwareCacheDecorator(cacheManager.getCache(AccountConstants.ACCOUNTS_CACHE));
+    }
+
     /**
      * @param customerDTO
      */
     @Override
     public void createAccount(CustomerDTO customerDTO) {
         Customer customer = CustomerMapper.mapToCustomer(customerDTO, new Customer());
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customer.getMobileNumber());
+        Optional<Customer> optionalCustomer = mobileNumberFilter.find(customer.getMobileNumber(), customerRepository::findByMobileNumber);
         if (optionalCustomer.isPresent()) {
             throw new CustomerAlreadyExistsException("Customer already exists with mobile number " + customer.getMobileNumber());
         }
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException ex) {
+            // the filter only learns of numbers inserted through another instance at its next rebuild; the unique
+            // constraint on the mobile number catches those
+            if (customerRepository.findByMobileNumber(customer.getMobileNumber()).isPresent()) {
+                throw new CustomerAlreadyExistsException("Customer already exists with mobile number " + customer.getMobileNumber());
+            }
+            throw ex;
+        }
+        mobileNumberFilter.add(savedCustomer.getMobileNumber());
         accountRepository.save(createNewAccount(savedCustomer));
     }
 
     private Account createNewAccount(Customer customer) {
-        long randomAccNumber = 100000000 + new Random().nextInt(900000000);
-        return Account.builder().customerId(customer.getCustomerId()).accountNumber(randomAccNumber).accountType(AccountConstants.SAVINGS).branchAddress(AccountConstants.ADDRESS).build();
+        return Account.builder().customerId(customer.getCustomerId()).accountNumber(accountNumberGenerator.next()).accountType(AccountConstants.SAVINGS).branchAddress(AccountConstants.ADDRESS).build();
     }
 
     /**
@@ -50,40 +108,156 @@ public class AccountServiceImpl implements IAccountService {
      * @return
      */
     @Override
+    @Cacheable(cacheNames = AccountConstants.ACCOUNTS_CACHE, key = "#mobileNumber")
     public CustomerDTO fetchAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-        Account account = accountRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(() -> new ResourceNotFoundException("Account", "customerId", String.valueOf(customer.getCustomerId())));
+        // concurrent cache misses for the same mobile number share one query
+        return accountSingleFlight.execute(mobileNumber, () -> loadAccount(mobileNumber));
+    }
 
-        CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customer, new CustomerDTO());
-        AccountDTO accountDTO = AccountMapper.mapToAccountDTO(account, new AccountDTO());
+    private CustomerDTO loadAccount(String mobileNumber) {
+        CustomerAccountProjection customerAccount = mobileNumberFilter.find(mobileNumber, customerRepository::findCustomerAccountByMobileNumber).orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        if (customerAccount.accountNumber() == null) {
+            throw new ResourceNotFoundException("Account", "customerId", String.valueOf(customerAccount.customerId()));
+        }
+
+        CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customerAccount, new CustomerDTO());
+        AccountDTO accountDTO = AccountMapper.mapToAccountDTO(customerAccount, new AccountDTO());
         customerDTO.setAccountDTO(accountDTO);
 
         return customerDTO;
     }
 
+    /**
+     * Loads the account and its customer together and lets dirty checking write only the changed columns at commit.
+     * The versions sent with the request must match the stored ones, so an update based on a stale fetch is
+     * rejected; a request without versions skips that check. A concurrent update committing between this load and
+     * the commit fails the version check at flush. Both surface as an optimistic locking exception.
+     */
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDTO customerDTO) {
         boolean isUpdated = false;
         AccountDTO accountDTO = customerDTO.getAccountDTO();
         if (accountDTO != null) {
-            Account account = accountRepository.findById(accountDTO.getAccountNumber()).orElseThrow(() -> new ResourceNotFoundException("Account", "accountNumber", String.valueOf(accountDTO.getAccountNumber())));
+            AccountWithCustomer accountWithCustomer = accountRepository.findWithCustomerByAccountNumber(accountDTO.getAccountNumber()).orElseThrow(() -> new ResourceNotFoundException("Account", "accountNumber", String.valueOf(accountDTO.getAccountNumber())));
+            Account account = accountWithCustomer.account();
+            Customer customer = accountWithCustomer.customer();
+            checkVersion(accountDTO.getVersion(), account.getVersion(), Account.class, account.getAccountNumber());
+            checkVersion(customerDTO.getVersion(), customer.getVersion(), Customer.class, customer.getCustomerId());
             AccountMapper.mapToAccount(accountDTO, account);
-            account = accountRepository.save(account);
 
-            Long customerId = account.getCustomerId();
-            Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", String.valueOf(customerId)));
+            String previousMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDTO, customer);
-            customerRepository.save(customer);
+            accountsCache.evict(previousMobileNumber);
+            accountsCache.evict(customer.getMobileNumber());
+            mobileNumberFilter.add(customer.getMobileNumber());
             isUpdated = true;
         }
         return isUpdated;
     }
 
+    private static void checkVersion(Long expected, Long actual, Class<?> entityClass, Object id) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+
     @Override
+    @Transactional
     public boolean deleteAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-        accountRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        List<String> mobileNumbers = List.of(mobileNumber);
+        accountRepository.deleteByCustomerMobileNumberIn(mobileNumbers);
+        if (customerRepository.deleteByMobileNumberIn(mobileNumbers) == 0) {
+            mobileNumberFilter.recordFalsePositives(1);
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        accountsCache.evict(mobileNumber);
         return true;
     }
+
+    /**
+     * Hands every customer to the consumer one row at a time. Rows are read through a cursor as unmanaged
+     * projections, so neither the persistence context nor the heap grows with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccounts(Consumer<CustomerDTO> rowConsumer) {
+        try (Stream<CustomerAccountProjection> customerAccounts = customerRepository.streamAllCustomerAccounts()) {
+            customerAccounts.forEach(customerAccount -> {
+                CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customerAccount, new CustomerDTO());
+                if (customerAccount.accountNumber() != null) {
+                    customerDTO.setAccountDTO(AccountMapper.mapToAccountDTO(customerAccount, new AccountDTO()));
+                }
+                rowConsumer.accept(customerDTO);
+            });
+        }
+    }
+
+    /**
+     * Pages customer ids by keyset, reading one id past the page to find out whether another page follows, then loads
+     * the page rows by id. The token is the last customer id of the page; filters are not part of it and have to be
+     * sent again with every page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerPageDto listAccounts(String pageToken, int size, String accountType, LocalDateTime createdFrom,
+                                        LocalDateTime createdTo) {
+        long afterCustomerId = pageToken == null || pageToken.isEmpty() ? 0L : decodePageToken(pageToken);
+        List<Long> customerIds = customerRepository.findPageIdsAfter(afterCustomerId, accountType, createdFrom,
+                createdTo, Limit.of(size + 1));
+        boolean hasNext = customerIds.size() > size;
+        List<Long> pageCustomerIds = hasNext ? customerIds.subList(0, size) : customerIds;
+        List<CustomerAccountProjection> rows = pageCustomerIds.isEmpty() ? List.of() :
+                customerRepository.findCustomerAccountsByCustomerIdIn(pageCustomerIds, accountType);
+        List<CustomerDTO> customers = new ArrayList<>(rows.size());
+        for (CustomerAccountProjection customerAccount : rows) {
+            CustomerDTO customerDTO = CustomerMapper.mapToCustomerDTO(customerAccount, new CustomerDTO());
+            if (customerAccount.accountNumber() != null) {
+                customerDTO.setAccountDTO(AccountMapper.mapToAccountDTO(customerAccount, new AccountDTO()));
+            }
+            customers.add(customerDTO);
+        }
+        String nextPageToken = hasNext ? encodePageToken(pageCustomerIds.get(size - 1)) : null;
+        return new CustomerPageDto(customers, nextPageToken);
+    }
+
+    private static String encodePageToken(long customerId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(customerId)
+                .getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodePageToken(String pageToken) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException(pageToken);
+        }
+    }
+
+    /**
+     * Deletes customers and their accounts with set-based deletes, one transaction per chunk, so a failure only rolls
+     * back the chunk it happened in.
+     */
+    @Override
+    public OffboardingResultDto deleteAccounts(List<String> mobileNumbers) {
+        List<String> distinctMobileNumbers = mobileNumbers.stream().distinct().toList();
+        OffboardingResultDto result = new OffboardingResultDto(distinctMobileNumbers.size(), 0, 0);
+        // numbers the filter rules out have nothing to delete
+        List<String> knownMobileNumbers = mobileNumberFilter.mightContainAll(distinctMobileNumbers);
+        int chunkSize = batchProperties.chunkSize();
+        for (int from = 0; from < knownMobileNumbers.size(); from += chunkSize) {
+            List<String> chunk = knownMobileNumbers.subList(from, Math.min(from + chunkSize,
+                    knownMobileNumbers.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                result.setAccountsDeleted(result.getAccountsDeleted() + accountRepository.deleteByCustomerMobileNumberIn(chunk));
+                result.setCustomersDeleted(result.getCustomersDeleted() + customerRepository.deleteByMobileNumberIn(chunk));
+                chunk.forEach(accountsCache::evict);
+            });
+        }
+        mobileNumberFilter.recordFalsePositives(knownMobileNumbers.size() - result.getCustomersDeleted());
+        return result;
+    }
 }
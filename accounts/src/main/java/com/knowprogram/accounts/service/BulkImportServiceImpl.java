@@ -0,0 +1,308 @@
+package com.knowprogram.accounts.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
+import com.knowprogram.accounts.config.ImportProperties;
+import com.knowprogram.accounts.constants.AccountConstants;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.ImportRowResultDto;
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.idgen.SegmentedIdGenerator;
+import com.knowprogram.accounts.mapper.CustomerMapper;
+import com.knowprogram.accounts.repository.CustomerAccountJdbcRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@EnableConfigurationProperties(ImportProperties.class)
+public class BulkImportServiceImpl implements IBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportServiceImpl.class);
+
+    private static final MediaType CSV = MediaType.parseMediaType(AccountConstants.CSV);
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "mobileNumber");
+
+    private final CustomerAccountJdbcRepository customerAccountJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuditorAware<String> auditorAware;
+    private final SegmentedIdGenerator accountNumberGenerator;
+    private final ImportProperties importProperties;
+    private final MobileNumberFilter mobileNumberFilter;
+
+    public BulkImportServiceImpl(CustomerAccountJdbcRepository customerAccountJdbcRepository,
+                                 TransactionTemplate transactionTemplate, Validator validator,
+                                 ObjectMapper objectMapper, AuditorAware<String> auditorAware,
+                                 SegmentedIdGenerator accountNumberGenerator, ImportProperties importProperties,
+                                 MobileNumberFilter mobileNumberFilter) {
+        this.customerAccountJdbcRepository = customerAccountJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.auditorAware = auditorAware;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.importProperties = importProperties;
+        this.mobileNumberFilter = mobileNumberFilter;
+    }
+
+    @Override
+    public void importCustomers(InputStream input, MediaType format,
+                                Consumer<List<ImportRowResultDto>> chunkConsumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int[] csvColumns = format.equalsTypeAndSubtype(CSV) ? readCsvHeader(reader) : null;
+        int chunkSize = importProperties.chunkSize();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            chunk.add(csvColumns == null ? parseJson(rowNumber, line) : parseCsv(rowNumber, line, csvColumns));
+            if (chunk.size() == chunkSize) {
+                chunkConsumer.accept(importChunk(chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(importChunk(chunk));
+        }
+    }
+
+    private List<ImportRowResultDto> importChunk(List<ImportRow> rows) {
+        List<ImportRowResultDto> results = new ArrayList<>(rows.size());
+        Map<String, ImportRowResultDto> candidates = new LinkedHashMap<>();
+        Map<String, CustomerDTO> customers = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            CustomerDTO customerDTO = row.customerDTO();
+            String mobileNumber = customerDTO == null ? null : customerDTO.getMobileNumber();
+            ImportRowResultDto result = new ImportRowResultDto(row.rowNumber(), mobileNumber, null, null, null);
+            results.add(result);
+            if (row.error() != null) {
+                reject(result, AccountConstants.IMPORT_INVALID, row.error());
+            } else if (candidates.containsKey(mobileNumber)) {
+                reject(result, AccountConstants.IMPORT_DUPLICATE, "Mobile number already appears earlier in the file");
+            } else {
+                candidates.put(mobileNumber, result);
+                customers.put(mobileNumber, customerDTO);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        try {
+            applyOutcome(transactionTemplate.execute(status -> insert(customers.values())), candidates);
+        } catch (DataIntegrityViolationException ex) {
+            // a row clashed with a constraint (e.g. an email already in use); redo the chunk row by row to
+            // find out which one
+            logger.debug("Batch insert failed, retrying chunk row by row: {}", ex.getMessage());
+            for (CustomerDTO customerDTO : customers.values()) {
+                ImportRowResultDto result = candidates.get(customerDTO.getMobileNumber());
+                try {
+                    applyOutcome(transactionTemplate.execute(status -> insert(List.of(customerDTO))), candidates);
+                } catch (DataIntegrityViolationException rowEx) {
+                    reject(result, AccountConstants.IMPORT_FAILED, AccountConstants.MESSAGE_IMPORT_CONSTRAINT);
+                }
+            }
+        }
+        return results;
+    }
+
+    private ChunkOutcome insert(Collection<CustomerDTO> customerDTOs) {
+        // numbers the filter rules out are new without asking the database
+        List<String> knownMobileNumbers = mobileNumberFilter.mightContainAll(
+                customerDTOs.stream().map(CustomerDTO::getMobileNumber).toList());
+        Set<String> existing = knownMobileNumbers.isEmpty() ? new HashSet<>() :
+                new HashSet<>(customerAccountJdbcRepository.findExistingMobileNumbers(knownMobileNumbers));
+        mobileNumberFilter.recordFalsePositives(knownMobileNumbers.size() - existing.size());
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        List<Customer> customers = customerDTOs.stream()
+                .filter(customerDTO -> !existing.contains(customerDTO.getMobileNumber()))
+                .map(customerDTO -> {
+                    Customer customer = CustomerMapper.mapToCustomer(customerDTO, new Customer());
+                    customer.setCreatedAt(now);
+                    customer.setCreatedBy(auditor);
+                    return customer;
+                }).toList();
+        if (customers.isEmpty()) {
+            return new ChunkOutcome(Map.of(), existing);
+        }
+        customerAccountJdbcRepository.insertCustomers(customers);
+        customers.forEach(customer -> mobileNumberFilter.add(customer.getMobileNumber()));
+
+        Map<String, Long> customerIds = customerAccountJdbcRepository.findCustomerIdsByMobileNumber(
+                customers.stream().map(Customer::getMobileNumber).toList());
+        List<Account> accounts = customers.stream().map(customer -> {
+            Account account = Account.builder().customerId(customerIds.get(customer.getMobileNumber()))
+                    .accountNumber(accountNumberGenerator.next()).accountType(AccountConstants.SAVINGS)
+                    .branchAddress(AccountConstants.ADDRESS).build();
+            account.setCreatedAt(now);
+            account.setCreatedBy(auditor);
+            return account;
+        }).toList();
+        customerAccountJdbcRepository.insertAccounts(accounts);
+
+        Map<Long, String> mobileNumbers = customerIds.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        return new ChunkOutcome(accounts.stream().collect(Collectors.toMap(
+                account -> mobileNumbers.get(account.getCustomerId()), Account::getAccountNumber)), existing);
+    }
+
+    private static void applyOutcome(ChunkOutcome outcome, Map<String, ImportRowResultDto> candidates) {
+        outcome.accountNumbers().forEach((mobileNumber, accountNumber) -> {
+            ImportRowResultDto result = candidates.get(mobileNumber);
+            result.setStatus(AccountConstants.IMPORT_CREATED);
+            result.setAccountNumber(accountNumber);
+        });
+        outcome.existingMobileNumbers().forEach(mobileNumber -> reject(candidates.get(mobileNumber),
+                AccountConstants.IMPORT_DUPLICATE, "Customer already exists with mobile number " + mobileNumber));
+    }
+
+    private static void reject(ImportRowResultDto result, String status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+    private ImportRow parseJson(long rowNumber, String line) {
+        try {
+            return validate(rowNumber, objectMapper.readValue(line, CustomerDTO.class));
+        } catch (JsonProcessingException ex) {
+            return new ImportRow(rowNumber, null, "Row is not a valid JSON object");
+        }
+    }
+
+    private ImportRow parseCsv(long rowNumber, String line, int[] csvColumns) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return new ImportRow(rowNumber, null, "Row has a malformed quoted field");
+        }
+        if (values.size() <= Arrays.stream(csvColumns).max().orElse(0)) {
+            return new ImportRow(rowNumber, null, "Row has fewer columns than the header");
+        }
+        CustomerDTO customerDTO = new CustomerDTO();
+        customerDTO.setName(values.get(csvColumns[0]));
+        customerDTO.setEmail(values.get(csvColumns[1]));
+        customerDTO.setMobileNumber(values.get(csvColumns[2]));
+        return validate(rowNumber, customerDTO);
+    }
+
+    private ImportRow validate(long rowNumber, CustomerDTO customerDTO) {
+        if (customerDTO.getMobileNumber() == null || customerDTO.getMobileNumber().isEmpty()) {
+            return new ImportRow(rowNumber, customerDTO, "Mobile Number should not be null or empty");
+        }
+        Set<ConstraintViolation<CustomerDTO>> violations = validator.validate(customerDTO);
+        if (!violations.isEmpty()) {
+            return new ImportRow(rowNumber, customerDTO, violations.stream().map(ConstraintViolation::getMessage)
+                    .sorted().collect(Collectors.joining("; ")));
+        }
+        return new ImportRow(rowNumber, customerDTO, null);
+    }
+
+    private static int[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        List<String> columns = header == null ? List.of() : splitCsv(header);
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV header has a malformed quoted field");
+        }
+        int[] indexes = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            indexes[i] = columns.indexOf(CSV_COLUMNS.get(i));
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Splits one CSV line into its fields (RFC 4180 within a line): a field in double quotes may hold commas, and
+     * {@code ""} inside it stands for one quote. Unquoted fields are trimmed, quoted ones kept as written.
+     *
+     * @return the fields, or {@code null} if a quote is unterminated, stray, or followed by anything but a comma
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int i = 0;
+        while (true) {
+            int start = i;
+            while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                value.setLength(0);
+                i++;
+                while (true) {
+                    if (i == line.length()) {
+                        // a quoted field running over a line break is not supported
+                        return null;
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                for (; i < line.length() && line.charAt(i) != ','; i++) {
+                    if (!Character.isWhitespace(line.charAt(i))) {
+                        return null;
+                    }
+                }
+                values.add(value.toString());
+            } else {
+                int end = line.indexOf(',', start);
+                i = end < 0 ? line.length() : end;
+                String field = line.substring(start, i);
+                if (field.indexOf('"') >= 0) {
+                    return null;
+                }
+                values.add(field.trim());
+            }
+            if (i == line.length()) {
+                return values;
+            }
+            i++;
+        }
+    }
+
+    private record ImportRow(long rowNumber, CustomerDTO customerDTO, String error) {
+    }
+
+    private record ChunkOutcome(Map<String, Long> accountNumbers, Set<String> existingMobileNumbers) {
+    }
+}
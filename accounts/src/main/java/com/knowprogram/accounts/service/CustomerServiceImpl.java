@@ -1,10 +1,17 @@
 package com.knowprogram.accounts.service;
 
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
 import com.knowprogram.accounts.client.CardsFeignClient;
+import com.knowprogram.accounts.client.DownstreamCallExecutor;
+import com.knowprogram.accounts.client.LastKnownGoodCache;
 import com.knowprogram.accounts.client.LoansFeignClient;
+import com.knowprogram.accounts.coalescing.SingleFlight;
+import com.knowprogram.accounts.config.BatchProperties;
+import com.knowprogram.accounts.config.FanOutProperties;
 import com.knowprogram.accounts.dto.AccountDTO;
 import com.knowprogram.accounts.dto.CardsDto;
 import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDetailsBatchItemDto;
 import com.knowprogram.accounts.dto.LoansDto;
 import com.knowprogram.accounts.entity.Account;
 import com.knowprogram.accounts.entity.Customer;
@@ -12,42 +19,216 @@ import com.knowprogram.accounts.exception.ResourceNotFoundException;
 import com.knowprogram.accounts.mapper.AccountMapper;
 import com.knowprogram.accounts.mapper.CustomerMapper;
 import com.knowprogram.accounts.repository.AccountRepository;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
 import com.knowprogram.accounts.repository.CustomerRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
+@EnableConfigurationProperties(BatchProperties.class)
+@ConditionalOnProperty(prefix = "accounts.customer-service", name = "implementation", havingValue = "blocking",
+        matchIfMissing = true)
 public class CustomerServiceImpl implements ICustomerService {
     private AccountRepository accountRepository;
     private CustomerRepository customerRepository;
     private LoansFeignClient loansFeignClient;
     private CardsFeignClient cardsFeignClient;
+    private DownstreamCallExecutor downstreamCallExecutor;
+    private FanOutProperties fanOutProperties;
+    private BatchProperties batchProperties;
+    private SingleFlight<String, CustomerAllDetailsDto> customerDetailsSingleFlight;
+    private LastKnownGoodCache lastKnownGoodCache;
+    private MobileNumberFilter mobileNumberFilter;
 
+    /**
+     * Concurrent calls for the same mobile number share one aggregation, whose downstream calls carry the correlation
+     * id of the call that started it.
+     */
     @Override
     public CustomerAllDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId) {
-        Customer customer =
-                customerRepository.findByMobileNumber(mobileNumber).orElseThrow(() -> new ResourceNotFoundException(
-                        "Customer", "mobileNumber", mobileNumber));
-        Account account =
-                accountRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(() -> new ResourceNotFoundException("Account", "customerId", String.valueOf(customer.getCustomerId())));
-        CustomerAllDetailsDto customerAllDetailsDto = CustomerMapper.mapToCustomerAllDetailsDto(customer,
-                new CustomerAllDetailsDto());
-        customerAllDetailsDto.setAccountDTO(AccountMapper.mapToAccountDTO(account, new AccountDTO()));
+        return customerDetailsSingleFlight.execute(mobileNumber,
+                () -> aggregateCustomerDetails(mobileNumber, correlationId));
+    }
+
+    protected CustomerAllDetailsDto aggregateCustomerDetails(String mobileNumber, String correlationId) {
+        CustomerAllDetailsDto customerAllDetailsDto = findCustomerAllDetails(mobileNumber);
+
+        CompletableFuture<ResponseEntity<LoansDto>> loansFuture = downstreamCallExecutor.submit("loans",
+                fanOutProperties.loansTimeout(), () -> loansFeignClient.fetchLoanDetails(correlationId, mobileNumber));
+        CompletableFuture<ResponseEntity<CardsDto>> cardsFuture = downstreamCallExecutor.submit("cards",
+                fanOutProperties.cardsTimeout(), () -> cardsFeignClient.fetchCardDetails(correlationId, mobileNumber));
+
+        applyLoans(mobileNumber, loansFuture.join(), customerAllDetailsDto);
+        applyCards(mobileNumber, cardsFuture.join(), customerAllDetailsDto);
+        return customerAllDetailsDto;
+    }
 
-        ResponseEntity<LoansDto> loansDtoResponseEntity = loansFeignClient.fetchLoanDetails(correlationId,
-                mobileNumber);
+    /**
+     * Sets the loans details from the loans leg. A fresh response is recorded as the last known good copy and a 404
+     * drops the recorded copy, so a deleted loan is not served from it later. A leg without a response, which failed
+     * or missed its deadline and so never reached its fallback, is answered with the recorded copy, flagged as stale.
+     */
+    protected void applyLoans(String mobileNumber, ResponseEntity<LoansDto> loansDtoResponseEntity,
+                              CustomerAllDetailsDto customerAllDetailsDto) {
+        if (loansDtoResponseEntity == null) {
+            loansDtoResponseEntity = lastKnownGoodCache.staleLoans(mobileNumber);
+        } else if (loansDtoResponseEntity.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            lastKnownGoodCache.removeLoans(mobileNumber);
+        }
         if (loansDtoResponseEntity != null && loansDtoResponseEntity.getBody() != null) {
             customerAllDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+            if (LastKnownGoodCache.isStale(loansDtoResponseEntity)) {
+                customerAllDetailsDto.setStale(true);
+            } else {
+                lastKnownGoodCache.putLoans(mobileNumber, loansDtoResponseEntity.getBody());
+            }
         }
+    }
 
-        ResponseEntity<CardsDto> cardsDtoResponseEntity = cardsFeignClient.fetchCardDetails(correlationId,
-                mobileNumber);
+    /**
+     * Sets the cards details from the cards leg, the way {@link #applyLoans} does for loans.
+     */
+    protected void applyCards(String mobileNumber, ResponseEntity<CardsDto> cardsDtoResponseEntity,
+                              CustomerAllDetailsDto customerAllDetailsDto) {
+        if (cardsDtoResponseEntity == null) {
+            cardsDtoResponseEntity = lastKnownGoodCache.staleCards(mobileNumber);
+        } else if (cardsDtoResponseEntity.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            lastKnownGoodCache.removeCards(mobileNumber);
+        }
         if (cardsDtoResponseEntity != null && cardsDtoResponseEntity.getBody() != null) {
             customerAllDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+            if (LastKnownGoodCache.isStale(cardsDtoResponseEntity)) {
+                customerAllDetailsDto.setStale(true);
+            } else {
+                lastKnownGoodCache.putCards(mobileNumber, cardsDtoResponseEntity.getBody());
+            }
         }
+    }
 
+    /**
+     * Runs the blocking aggregation on the bounded elastic scheduler, so the reactive endpoint behaves the same
+     * whichever implementation is active.
+     */
+    @Override
+    public Mono<CustomerAllDetailsDto> fetchCustomerDetailsReactive(String mobileNumber, String correlationId) {
+        return Mono.fromCallable(() -> fetchCustomerDetails(mobileNumber, correlationId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @return the customer and account part of the details, without cards and loans
+     */
+    protected CustomerAllDetailsDto findCustomerAllDetails(String mobileNumber) {
+        CustomerAccountProjection customerAccount =
+                mobileNumberFilter.find(mobileNumber, customerRepository::findCustomerAccountByMobileNumber).orElseThrow(() -> new ResourceNotFoundException(
+                        "Customer", "mobileNumber", mobileNumber));
+        if (customerAccount.accountNumber() == null) {
+            throw new ResourceNotFoundException("Account", "customerId", String.valueOf(customerAccount.customerId()));
+        }
+        CustomerAllDetailsDto customerAllDetailsDto = CustomerMapper.mapToCustomerAllDetailsDto(customerAccount,
+                new CustomerAllDetailsDto());
+        customerAllDetailsDto.setAccountDTO(AccountMapper.mapToAccountDTO(customerAccount, new AccountDTO()));
         return customerAllDetailsDto;
     }
+
+    @Override
+    public void fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId,
+                                          Consumer<List<CustomerDetailsBatchItemDto>> chunkConsumer) {
+        List<String> distinctMobileNumbers = mobileNumbers.stream().distinct().toList();
+        int chunkSize = batchProperties.chunkSize();
+        for (int from = 0; from < distinctMobileNumbers.size(); from += chunkSize) {
+            List<String> chunk = distinctMobileNumbers.subList(from, Math.min(from + chunkSize,
+                    distinctMobileNumbers.size()));
+            chunkConsumer.accept(fetchCustomerDetailsChunk(chunk, correlationId));
+        }
+    }
+
+    private List<CustomerDetailsBatchItemDto> fetchCustomerDetailsChunk(List<String> mobileNumbers,
+                                                                        String correlationId) {
+        List<String> knownMobileNumbers = mobileNumberFilter.mightContainAll(mobileNumbers);
+        Map<String, Customer> customers = knownMobileNumbers.isEmpty() ? Collections.emptyMap() :
+                customerRepository.findByMobileNumberIn(knownMobileNumbers).stream()
+                        .collect(Collectors.toMap(Customer::getMobileNumber, Function.identity()));
+        mobileNumberFilter.recordFalsePositives(knownMobileNumbers.size() - customers.size());
+        Map<Long, Account> accounts = customers.isEmpty() ? Collections.emptyMap() :
+                accountRepository.findByCustomerIdIn(customers.values().stream().map(Customer::getCustomerId).toList())
+                        .stream().collect(Collectors.toMap(Account::getCustomerId, Function.identity(), (a, b) -> a));
+
+        List<String> foundMobileNumbers = mobileNumbers.stream()
+                .filter(mobileNumber -> customers.containsKey(mobileNumber)
+                        && accounts.containsKey(customers.get(mobileNumber).getCustomerId()))
+                .toList();
+
+        Map<String, LoansDto> loans = Collections.emptyMap();
+        Map<String, CardsDto> cards = Collections.emptyMap();
+        boolean loansStale = false;
+        boolean cardsStale = false;
+        if (!foundMobileNumbers.isEmpty()) {
+            CompletableFuture<ResponseEntity<Map<String, LoansDto>>> loansFuture = downstreamCallExecutor.submit(
+                    "loans-batch", fanOutProperties.loansTimeout(),
+                    () -> loansFeignClient.fetchLoanDetailsBatch(correlationId, foundMobileNumbers));
+            CompletableFuture<ResponseEntity<Map<String, CardsDto>>> cardsFuture = downstreamCallExecutor.submit(
+                    "cards-batch", fanOutProperties.cardsTimeout(),
+                    () -> cardsFeignClient.fetchCardDetailsBatch(correlationId, foundMobileNumbers));
+            ResponseEntity<Map<String, LoansDto>> loansResponseEntity = loansFuture.join();
+            if (loansResponseEntity == null) {
+                loansResponseEntity = lastKnownGoodCache.staleLoans(foundMobileNumbers);
+            }
+            loans = bodyOrEmpty(loansResponseEntity);
+            loansStale = loansResponseEntity != null && LastKnownGoodCache.isStale(loansResponseEntity);
+            if (!loansStale) {
+                lastKnownGoodCache.putLoans(loans);
+            }
+
+            ResponseEntity<Map<String, CardsDto>> cardsResponseEntity = cardsFuture.join();
+            if (cardsResponseEntity == null) {
+                cardsResponseEntity = lastKnownGoodCache.staleCards(foundMobileNumbers);
+            }
+            cards = bodyOrEmpty(cardsResponseEntity);
+            cardsStale = cardsResponseEntity != null && LastKnownGoodCache.isStale(cardsResponseEntity);
+            if (!cardsStale) {
+                lastKnownGoodCache.putCards(cards);
+            }
+        }
+
+        List<CustomerDetailsBatchItemDto> items = new ArrayList<>(mobileNumbers.size());
+        for (String mobileNumber : mobileNumbers) {
+            Customer customer = customers.get(mobileNumber);
+            Account account = customer == null ? null : accounts.get(customer.getCustomerId());
+            if (account == null) {
+                items.add(new CustomerDetailsBatchItemDto(mobileNumber, false, null));
+                continue;
+            }
+            CustomerAllDetailsDto customerAllDetailsDto = CustomerMapper.mapToCustomerAllDetailsDto(customer,
+                    new CustomerAllDetailsDto());
+            customerAllDetailsDto.setAccountDTO(AccountMapper.mapToAccountDTO(account, new AccountDTO()));
+            customerAllDetailsDto.setLoansDto(loans.get(mobileNumber));
+            customerAllDetailsDto.setCardsDto(cards.get(mobileNumber));
+            customerAllDetailsDto.setStale(loansStale && loans.containsKey(mobileNumber)
+                    || cardsStale && cards.containsKey(mobileNumber));
+            items.add(new CustomerDetailsBatchItemDto(mobileNumber, true, customerAllDetailsDto));
+        }
+        return items;
+    }
+
+    private static <T> Map<String, T> bodyOrEmpty(ResponseEntity<Map<String, T>> responseEntity) {
+        return responseEntity != null && responseEntity.getBody() != null ? responseEntity.getBody() :
+                Collections.emptyMap();
+    }
 }
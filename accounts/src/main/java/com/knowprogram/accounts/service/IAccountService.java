@@ -1,6 +1,12 @@
 package com.knowprogram.accounts.service;
 
 import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.CustomerPageDto;
+import com.knowprogram.accounts.dto.OffboardingResultDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface IAccountService {
     void createAccount(CustomerDTO customerDTO);
@@ -8,5 +14,12 @@ public interface IAccountService {
     boolean updateAccount(CustomerDTO customerDTO);
 
     boolean deleteAccount(String mobileNumber);
+
+    OffboardingResultDto deleteAccounts(List<String> mobileNumbers);
+
+    void exportAccounts(Consumer<CustomerDTO> rowConsumer);
+
+    CustomerPageDto listAccounts(String pageToken, int size, String accountType, LocalDateTime createdFrom,
+                                 LocalDateTime createdTo);
 }
 
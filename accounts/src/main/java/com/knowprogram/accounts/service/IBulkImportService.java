@@ -0,0 +1,25 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.dto.ImportRowResultDto;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IBulkImportService {
+
+    /**
+     * Reads customers row by row from NDJSON ({@code name}, {@code email}, {@code mobileNumber} per line) or CSV
+     * (with a header naming those columns) and creates each customer with a new account. Rows are handled in
+     * chunks; every chunk is deduplicated by mobile number and inserted with JDBC batch statements in one
+     * transaction.
+     *
+     * @param input         - uploaded file, read as a stream
+     * @param format        - {@code application/x-ndjson} or {@code text/csv}
+     * @param chunkConsumer - receives the per-row results of each chunk, in file order
+     */
+    void importCustomers(InputStream input, MediaType format, Consumer<List<ImportRowResultDto>> chunkConsumer)
+            throws IOException;
+}
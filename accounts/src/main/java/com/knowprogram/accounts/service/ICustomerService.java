@@ -1,7 +1,33 @@
 package com.knowprogram.accounts.service;
 
 import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDetailsBatchItemDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ICustomerService {
     CustomerAllDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId);
+
+    /**
+     * Same result as {@link #fetchCustomerDetails(String, String)} without tying up the caller's thread while cards
+     * and loans answer.
+     *
+     * @param mobileNumber  - Mobile Number of the Customer
+     * @param correlationId - Correlation Id forwarded to cards and loans
+     * @return the customer details, or an error if the customer or its account does not exist
+     */
+    Mono<CustomerAllDetailsDto> fetchCustomerDetailsReactive(String mobileNumber, String correlationId);
+
+    /**
+     * Resolves the given mobile numbers chunk by chunk and hands every resolved chunk to the consumer as soon as
+     * it is ready, in request order. Duplicate mobile numbers are reported once.
+     *
+     * @param mobileNumbers - Mobile Numbers of the Customers
+     * @param correlationId - Correlation Id forwarded to cards and loans
+     * @param chunkConsumer - receives the results of each chunk
+     */
+    void fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId,
+                                   Consumer<List<CustomerDetailsBatchItemDto>> chunkConsumer);
 }
@@ -0,0 +1,108 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
+import com.knowprogram.accounts.client.CardsFeignClient;
+import com.knowprogram.accounts.client.DownstreamCallExecutor;
+import com.knowprogram.accounts.client.LastKnownGoodCache;
+import com.knowprogram.accounts.client.LoansFeignClient;
+import com.knowprogram.accounts.coalescing.SingleFlight;
+import com.knowprogram.accounts.config.BatchProperties;
+import com.knowprogram.accounts.config.FanOutProperties;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.LoansDto;
+import com.knowprogram.accounts.repository.AccountRepository;
+import com.knowprogram.accounts.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Fetches cards and loans with WebClient and composes them with the customer lookup, so an aggregation holds no
+ * thread while the downstreams answer; only the JPA lookup runs on the bounded elastic scheduler. Both calls go
+ * through a reactive circuit breaker named after the leg and the fan-out deadlines, and a failed or late leg is
+ * answered from the last known good copy as with the Feign fallbacks, while a 404 drops that copy. The batch endpoint keeps the blocking
+ * multi-get path, and only the blocking {@code fetchCustomerDetails} coalesces concurrent calls.
+ */
+@Service
+@ConditionalOnProperty(prefix = "accounts.customer-service", name = "implementation", havingValue = "reactive")
+public class ReactiveCustomerServiceImpl extends CustomerServiceImpl {
+
+    private final WebClient loansWebClient;
+    private final WebClient cardsWebClient;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final DownstreamCallExecutor downstreamCallExecutor;
+    private final FanOutProperties fanOutProperties;
+
+    public ReactiveCustomerServiceImpl(AccountRepository accountRepository, CustomerRepository customerRepository,
+                                       LoansFeignClient loansFeignClient, CardsFeignClient cardsFeignClient,
+                                       DownstreamCallExecutor downstreamCallExecutor,
+                                       FanOutProperties fanOutProperties, BatchProperties batchProperties,
+                                       SingleFlight<String, CustomerAllDetailsDto> customerDetailsSingleFlight,
+                                       LastKnownGoodCache lastKnownGoodCache,
+                                       MobileNumberFilter mobileNumberFilter,
+                                       @Qualifier("loansWebClient") WebClient loansWebClient,
+                                       @Qualifier("cardsWebClient") WebClient cardsWebClient,
+                                       ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        super(accountRepository, customerRepository, loansFeignClient, cardsFeignClient, downstreamCallExecutor,
+                fanOutProperties, batchProperties, customerDetailsSingleFlight, lastKnownGoodCache,
+                mobileNumberFilter);
+        this.loansWebClient = loansWebClient;
+        this.cardsWebClient = cardsWebClient;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.downstreamCallExecutor = downstreamCallExecutor;
+        this.fanOutProperties = fanOutProperties;
+    }
+
+    @Override
+    protected CustomerAllDetailsDto aggregateCustomerDetails(String mobileNumber, String correlationId) {
+        return fetchCustomerDetailsReactive(mobileNumber, correlationId).block();
+    }
+
+    @Override
+    public Mono<CustomerAllDetailsDto> fetchCustomerDetailsReactive(String mobileNumber, String correlationId) {
+        return Mono.fromCallable(() -> findCustomerAllDetails(mobileNumber))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(customerAllDetailsDto -> Mono.zip(
+                                fetch("loans", loansWebClient, fanOutProperties.loansTimeout(), LoansDto.class,
+                                        mobileNumber, correlationId),
+                                fetch("cards", cardsWebClient, fanOutProperties.cardsTimeout(), CardsDto.class,
+                                        mobileNumber, correlationId))
+                        .map(legs -> {
+                            applyLoans(mobileNumber, legs.getT1().orElse(null), customerAllDetailsDto);
+                            applyCards(mobileNumber, legs.getT2().orElse(null), customerAllDetailsDto);
+                            return customerAllDetailsDto;
+                        }));
+    }
+
+    /**
+     * @return the response, an empty 404 response if the downstream has nothing for the mobile number, or an empty
+     * {@code Optional} if the call failed or missed its deadline
+     */
+    private <T> Mono<Optional<ResponseEntity<T>>> fetch(String leg, WebClient webClient, Duration timeout,
+                                                        Class<T> type, String mobileNumber, String correlationId) {
+        Mono<ResponseEntity<T>> call = webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/fetch").queryParam("mobileNumber", mobileNumber).build())
+                .header("peoplebank-correlation-id", correlationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toEntity(type)
+                // an answer rather than a failure, so it neither trips the circuit breaker nor gets a stale copy
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                        ex -> Mono.just(ResponseEntity.notFound().build()));
+        // the fallback rethrows so that timeouts are recorded as such instead of as NoFallbackAvailableException
+        return downstreamCallExecutor.submit(leg, timeout, circuitBreakerFactory.create(leg).run(call, Mono::error))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+}
@@ -6,7 +6,8 @@ CREATE TABLE IF NOT EXISTS customer (
   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
   created_by VARCHAR(50) NOT NULL,
   updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  updated_by VARCHAR(50) DEFAULT NULL
+  updated_by VARCHAR(50) DEFAULT NULL,
+  version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS account (
@@ -18,5 +19,15 @@ CREATE TABLE IF NOT EXISTS account (
   created_by VARCHAR(50) NOT NULL,
   updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   updated_by VARCHAR(50) DEFAULT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   FOREIGN KEY (customer_id) REFERENCES customer(customer_id)
 );
+
+CREATE TABLE IF NOT EXISTS id_block (
+  sequence_name VARCHAR(50) PRIMARY KEY,
+  next_value BIGINT NOT NULL
+);
+
+-- databases created before the version columns were added
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
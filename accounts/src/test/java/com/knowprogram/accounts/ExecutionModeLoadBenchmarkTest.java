@@ -0,0 +1,245 @@
+package com.knowprogram.accounts;
+
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.service.IAccountService;
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@code GET /api/fetchCustomerDetails} with a growing number of concurrent clients, once on platform threads
+ * and once with {@code spring.threads.virtual.enabled}, then {@code /api/fetchCustomerDetailsReactive} on platform
+ * threads with the reactive {@code ICustomerService}, and reports throughput, p99 latency and the highest
+ * concurrency that still meets {@link #P99_SLO_MS} without errors or degraded responses. Loans and cards are served by
+ * a stub that answers after {@link #DOWNSTREAM_DELAY_MS}, so the real Feign, load balancer and circuit breaker path is
+ * exercised and requests spend most of their time blocked, as they do in production. Pinned virtual threads are
+ * counted through JFR. Run with {@code mvn test -Dtest=ExecutionModeLoadBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.cloud.config.enabled=false", "eureka.client.enabled=false", "build.version=benchmark",
+		"spring.jpa.show-sql=false", "logging.level.com.knowprogram.accounts=INFO",
+		// the JDK stub standing in for loans and cards only speaks HTTP/1.1
+		"accounts.http-client.targets.loans.http-version=http1",
+		"accounts.http-client.targets.cards.http-version=http1"})
+class ExecutionModeLoadBenchmarkTest {
+
+	private static final String FETCH_PATH = "/api/fetchCustomerDetails";
+	private static final int DOWNSTREAM_DELAY_MS = 500;
+	private static final long P99_SLO_MS = 1_500;
+	private static final int[] CONCURRENCY_LEVELS = {10, 25, 50, 100, 200, 400};
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+	private static HttpServer downstream;
+	private static final Map<String, Integer> maxSustainableConcurrency = new ConcurrentHashMap<>();
+
+	@DynamicPropertySource
+	static synchronized void downstreamInstances(DynamicPropertyRegistry registry) {
+		if (downstream == null) {
+			downstream = startDownstream();
+		}
+		String uri = "http://localhost:" + downstream.getAddress().getPort();
+		registry.add("spring.cloud.discovery.client.simple.instances.loans[0].uri", () -> uri);
+		registry.add("spring.cloud.discovery.client.simple.instances.cards[0].uri", () -> uri);
+	}
+
+	@AfterAll
+	static void report() {
+		if (downstream != null) {
+			downstream.stop(0);
+		}
+		System.out.printf("max sustainable concurrency (p99 <= %d ms): %s%n", P99_SLO_MS, maxSustainableConcurrency);
+	}
+
+	@Nested
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+	class PlatformThreads {
+
+		@LocalServerPort
+		private int port;
+
+		@Autowired
+		private IAccountService accountService;
+
+		@Test
+		void load() throws Exception {
+			runLevels("platform", port, accountService, "9100000001", FETCH_PATH);
+		}
+	}
+
+	@Nested
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+	class VirtualThreads {
+
+		@LocalServerPort
+		private int port;
+
+		@Autowired
+		private IAccountService accountService;
+
+		@Test
+		void load() throws Exception {
+			AtomicInteger pinned = new AtomicInteger();
+			try (RecordingStream recording = new RecordingStream()) {
+				recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+				recording.onEvent("jdk.VirtualThreadPinned", event -> {
+					if (pinned.getAndIncrement() < 5) {
+						System.out.println("pinned virtual thread: " + event.getStackTrace().getFrames().get(0));
+					}
+				});
+				recording.startAsync();
+				runLevels("virtual", port, accountService, "9100000002", FETCH_PATH);
+			}
+			System.out.printf("virtual: %d pinned virtual thread events over 20 ms%n", pinned.get());
+		}
+	}
+
+	@Nested
+	@TestPropertySource(properties = {"spring.threads.virtual.enabled=false",
+			"accounts.customer-service.implementation=reactive"})
+	class ReactiveService {
+
+		@LocalServerPort
+		private int port;
+
+		@Autowired
+		private IAccountService accountService;
+
+		@Test
+		void load() throws Exception {
+			runLevels("reactive", port, accountService, "9100000003", "/api/fetchCustomerDetailsReactive");
+		}
+	}
+
+	private static void runLevels(String mode, int port, IAccountService accountService, String mobileNumber,
+								  String path) throws InterruptedException {
+		CustomerDTO customerDTO = new CustomerDTO();
+		customerDTO.setName("Benchmark Customer");
+		customerDTO.setEmail(mobileNumber + "@example.com");
+		customerDTO.setMobileNumber(mobileNumber);
+		accountService.createAccount(customerDTO);
+
+		URI uri = URI.create("http://localhost:" + port + path + "?mobileNumber=" + mobileNumber);
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+		runLevel(client, uri, CONCURRENCY_LEVELS[1], WARMUP);
+		int sustainable = 0;
+		for (int concurrency : CONCURRENCY_LEVELS) {
+			LevelResult result = runLevel(client, uri, concurrency, MEASUREMENT);
+			System.out.printf("%-8s concurrency %5d: %7.0f req/s, p50 %5d ms, p99 %5d ms, errors %d%n", mode,
+					concurrency, result.throughput(), result.p50Ms(), result.p99Ms(), result.errors());
+			// throughput and the SLO depend on the machine, so only assert that the level was driven at all
+			assertTrue(result.throughput() > 0, mode + " completed no requests at concurrency " + concurrency);
+			if (result.errors() == 0 && result.p99Ms() <= P99_SLO_MS) {
+				sustainable = concurrency;
+			}
+		}
+		maxSustainableConcurrency.put(mode, sustainable);
+	}
+
+	/**
+	 * Closed loop: every client sends its next request as soon as the previous one completes.
+	 */
+	private static LevelResult runLevel(HttpClient client, URI uri, int concurrency, Duration duration)
+			throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(uri).header("peoplebank-correlation-id", "benchmark")
+				.timeout(Duration.ofSeconds(10)).GET().build();
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<long[]> latencies = new ArrayList<>(concurrency);
+		AtomicLong errors = new AtomicLong();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concurrency; i++) {
+				long[] clientLatencies = new long[(int) duration.toMillis()];
+				latencies.add(clientLatencies);
+				clients.submit(() -> {
+					int count = 0;
+					while (System.nanoTime() < deadline && count < clientLatencies.length - 1) {
+						long start = System.nanoTime();
+						try {
+							HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+							// a leg that timed out or failed comes back as null, count that as an error too
+							if (response.statusCode() != 200 || !response.body().contains("\"loansDto\":{")
+									|| !response.body().contains("\"cardsDto\":{")) {
+								errors.incrementAndGet();
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						}
+						clientLatencies[++count] = System.nanoTime() - start;
+					}
+					clientLatencies[0] = count;
+				});
+			}
+		}
+		long[] all = latencies.stream().flatMapToLong(l -> Arrays.stream(l, 1, (int) l[0] + 1)).sorted().toArray();
+		if (all.length == 0) {
+			return new LevelResult(0, Long.MAX_VALUE, Long.MAX_VALUE, errors.get());
+		}
+		return new LevelResult(all.length / (double) duration.toSeconds(), all[all.length / 2] / 1_000_000,
+				all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)] / 1_000_000, errors.get());
+	}
+
+	private static HttpServer startDownstream() {
+		// without it the stub's separate header and body writes hit delayed ACKs and add ~40 ms per call
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+			server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+			server.createContext("/api/fetch", exchange -> {
+				try {
+					Thread.sleep(DOWNSTREAM_DELAY_MS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				byte[] body = "{\"mobileNumber\":\"0000000000\"}".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record LevelResult(double throughput, long p50Ms, long p99Ms, long errors) {
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.knowprogram.accounts.bloom;
+
+import com.knowprogram.accounts.config.MobileNumberFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MobileNumberFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rulesOutUnknownNumbersButNeverKnownOnes() {
+        List<String> known = mobileNumbers(9_100_000_000L, 10_000);
+        MobileNumberFilter mobileNumberFilter = mobileNumberFilter(true, listSource(known, null));
+        assertTrue(mobileNumberFilter.mightContain("9300000000"));
+
+        mobileNumberFilter.rebuild();
+
+        assertTrue(known.stream().allMatch(mobileNumberFilter::mightContain));
+        long falsePositives = mobileNumbers(9_300_000_000L, 10_000).stream()
+                .filter(mobileNumberFilter::mightContain)
+                .count();
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        double expected = meterRegistry.get("mobile.number.filter.expected.false.positive.rate").gauge().value();
+        assertTrue(expected > 0 && expected < 0.01, "expected false-positive rate: " + expected);
+    }
+
+    @Test
+    void keepsNumbersAddedWhileRebuilding() {
+        List<String> known = mobileNumbers(9_100_000_000L, 100);
+        // inserted after the scan read past it, so only the addition brings it into the new filter
+        MobileNumberFilter[] mobileNumberFilter = new MobileNumberFilter[1];
+        mobileNumberFilter[0] = mobileNumberFilter(true,
+                listSource(known, () -> mobileNumberFilter[0].add("9200000001")));
+
+        mobileNumberFilter[0].rebuild();
+
+        assertTrue(mobileNumberFilter[0].mightContain("9200000001"));
+    }
+
+    @Test
+    void addsNumbersInsertedInATransactionOnceItCommits() {
+        MobileNumberFilter mobileNumberFilter = mobileNumberFilter(true, listSource(List.of(), null));
+        mobileNumberFilter.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            mobileNumberFilter.add("9200000001");
+            assertFalse(mobileNumberFilter.mightContain("9200000001"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(mobileNumberFilter.mightContain("9200000001"));
+    }
+
+    @Test
+    void findSkipsTheLookupForUnknownNumbersAndCountsFalsePositives() {
+        MobileNumberFilter mobileNumberFilter = mobileNumberFilter(true, listSource(List.of("9100000001"), null));
+        mobileNumberFilter.rebuild();
+        List<String> lookedUp = new ArrayList<>();
+
+        // deleted since the rebuild, so it still passes the filter
+        assertEquals(Optional.empty(), mobileNumberFilter.find("9100000001", mobileNumber -> {
+            lookedUp.add(mobileNumber);
+            return Optional.empty();
+        }));
+        assertEquals(Optional.empty(), mobileNumberFilter.find("9100000002", mobileNumber -> {
+            lookedUp.add(mobileNumber);
+            return Optional.empty();
+        }));
+
+        assertEquals(List.of("9100000001"), lookedUp);
+        assertEquals(1, meterRegistry.get("mobile.number.filter.checks").tag("result", "absent").counter().count());
+        assertEquals(1, meterRegistry.get("mobile.number.filter.checks").tag("result", "present").counter().count());
+        assertEquals(1, meterRegistry.get("mobile.number.filter.false.positives").counter().count());
+        assertEquals(0.5, meterRegistry.get("mobile.number.filter.false.positive.rate").gauge().value());
+        assertEquals(1, meterRegistry.get("mobile.number.filter.rebuilds").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void letsEveryNumberThroughWhenDisabled() {
+        MobileNumberFilter mobileNumberFilter = mobileNumberFilter(false, listSource(List.of(), null));
+
+        mobileNumberFilter.rebuild();
+
+        assertTrue(mobileNumberFilter.mightContain("9100000001"));
+        assertEquals(0, meterRegistry.find("mobile.number.filter.rebuilds").timers().size());
+    }
+
+    private MobileNumberFilter mobileNumberFilter(boolean enabled, MobileNumberSource source) {
+        return new MobileNumberFilter(new MobileNumberFilterProperties(enabled, 1_000, 0.01, Duration.ofHours(1)),
+                source, meterRegistry);
+    }
+
+    private static List<String> mobileNumbers(long first, int count) {
+        List<String> mobileNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mobileNumbers.add(Long.toString(first + i));
+        }
+        return mobileNumbers;
+    }
+
+    /**
+     * @param midScan run halfway through the scan, if not {@code null}
+     */
+    private static MobileNumberSource listSource(List<String> mobileNumbers, Runnable midScan) {
+        return new MobileNumberSource() {
+            @Override
+            public long count() {
+                return mobileNumbers.size();
+            }
+
+            @Override
+            public void forEach(Consumer<String> consumer) {
+                for (int i = 0; i < mobileNumbers.size(); i++) {
+                    if (midScan != null && i == mobileNumbers.size() / 2) {
+                        midScan.run();
+                    }
+                    consumer.accept(mobileNumbers.get(i));
+                }
+            }
+        };
+    }
+}
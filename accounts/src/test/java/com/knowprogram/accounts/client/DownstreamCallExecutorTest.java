@@ -0,0 +1,91 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.FanOutProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownstreamCallExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DownstreamCallExecutor downstreamCallExecutor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        downstreamCallExecutor.shutdown();
+    }
+
+    @Test
+    void timedOutLegIsAnsweredWithNullAndInterrupted() throws Exception {
+        downstreamCallExecutor = downstreamCallExecutor(2, 2);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Object result = downstreamCallExecutor.submit("loans", Duration.ofMillis(100), () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return "late";
+        }).join();
+
+        assertNull(result);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the leg kept running after its deadline");
+        assertEquals(1, meterRegistry.get("accounts.downstream.calls").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfRunningOnTheCaller() {
+        downstreamCallExecutor = downstreamCallExecutor(1, 1);
+        downstreamCallExecutor.submit("loans", Duration.ofSeconds(10), this::blockUntilReleased);
+        downstreamCallExecutor.submit("cards", Duration.ofSeconds(10), this::blockUntilReleased);
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+        Thread caller = Thread.currentThread();
+
+        Object result = downstreamCallExecutor.submit("loans", Duration.ofSeconds(10), () -> {
+            ranOnCaller.set(Thread.currentThread() == caller);
+            return "ran";
+        }).join();
+
+        assertNull(result);
+        assertFalse(ranOnCaller.get());
+        assertEquals(1, meterRegistry.get("accounts.downstream.calls").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void completedLegKeepsItsResult() {
+        downstreamCallExecutor = downstreamCallExecutor(2, 2);
+
+        assertEquals("loans", downstreamCallExecutor.submit("loans", Duration.ofSeconds(5), () -> "loans").join());
+        assertNull(downstreamCallExecutor.submit("cards", Duration.ofSeconds(5), () -> {
+            throw new IllegalStateException("cards down");
+        }).join());
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+
+    private DownstreamCallExecutor downstreamCallExecutor(int maxThreads, int queueCapacity) {
+        return new DownstreamCallExecutor(new FanOutProperties(true, maxThreads, queueCapacity, Duration.ofSeconds(2),
+                Duration.ofSeconds(2)), meterRegistry, new MockEnvironment());
+    }
+}
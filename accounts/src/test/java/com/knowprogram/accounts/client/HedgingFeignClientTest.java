@@ -0,0 +1,132 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.HedgingProperties;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingFeignClientTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch slowCallCancelled = new CountDownLatch(1);
+    private HedgingFeignClient hedgingFeignClient;
+
+    // "slow" sits on the request until it is cancelled, every other instance answers right away
+    private final Client instances = (request, options) -> {
+        calls.incrementAndGet();
+        String host = URI.create(request.url()).getHost();
+        if (host.equals("slow")) {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException ex) {
+                slowCallCancelled.countDown();
+                throw new IOException(ex);
+            }
+        }
+        return Response.builder().status(200).request(request).body(host, StandardCharsets.UTF_8).build();
+    };
+
+    private final DiscoveryClient discoveryClient = new DiscoveryClient() {
+        @Override
+        public String description() {
+            return "test";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return List.of(new DefaultServiceInstance("cards-1", serviceId, "slow", 9000, false),
+                    new DefaultServiceInstance("cards-2", serviceId, "fast", 9000, false));
+        }
+
+        @Override
+        public List<String> getServices() {
+            return List.of("cards");
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        hedgingFeignClient.close();
+    }
+
+    @Test
+    void hedgesSlowGetToAnotherInstanceAndCancelsTheOriginal() throws Exception {
+        hedgingFeignClient = hedgingClient(1.0);
+
+        try (Response response = hedgingFeignClient.execute(request(Request.HttpMethod.GET), options())) {
+            assertEquals("fast", new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertTrue(slowCallCancelled.await(1, TimeUnit.SECONDS));
+        assertEquals(1.0, counter("accounts.hedging.sent"));
+        assertEquals(1.0, counter("accounts.hedging.won"));
+        assertEquals(1.0, counter("accounts.hedging.wasted"));
+    }
+
+    @Test
+    void capsHedgesAtTheConfiguredRateAndNeverHedgesOtherMethods() throws Exception {
+        hedgingFeignClient = new HedgingFeignClient((request, options) -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+            return Response.builder().status(200).request(request).body("ok", StandardCharsets.UTF_8).build();
+        }, discoveryClient, properties(0.5), meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            hedgingFeignClient.execute(request(Request.HttpMethod.GET), options()).close();
+        }
+        hedgingFeignClient.execute(request(Request.HttpMethod.POST), options()).close();
+
+        assertEquals(5.0, counter("accounts.hedging.sent"));
+        assertEquals(16, calls.get());
+    }
+
+    private HedgingFeignClient hedgingClient(double maxRate) {
+        return new HedgingFeignClient(instances, discoveryClient, properties(maxRate), meterRegistry);
+    }
+
+    private static HedgingProperties properties(double maxRate) {
+        return new HedgingProperties(true, Duration.ofMillis(10), 0.95, Duration.ofMillis(20), maxRate);
+    }
+
+    private static Request request(Request.HttpMethod method) {
+        RequestTemplate requestTemplate = new RequestTemplate();
+        requestTemplate.feignTarget(new Target.HardCodedTarget<>(Object.class, "cards", "http://cards"));
+        return Request.create(method, "http://slow:9000/api/fetch?mobileNumber=9100000001", Map.of(), null,
+                StandardCharsets.UTF_8, requestTemplate);
+    }
+
+    private static Request.Options options() {
+        return new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("target", "cards").counter().count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.LastKnownGoodProperties;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.LoansDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LastKnownGoodCacheTest {
+
+    private static final RuntimeException OUTAGE = new RetryableException(-1, "Connection refused", Request.HttpMethod.GET,
+            (Long) null, request());
+
+    private final CardsDto cardsDto = new CardsDto("9100000001", "100000000001", "Credit Card", 100000, 0, 100000);
+    private final LoansDto loansDto = new LoansDto("9100000001", "100000000001", "Home Loan", 100000, 0, 100000);
+
+    @Test
+    void fallbacksServeRecordedResponsesAsStale() {
+        LastKnownGoodCache lastKnownGoodCache = lastKnownGoodCache(true);
+        lastKnownGoodCache.putCards("9100000001", cardsDto);
+        lastKnownGoodCache.putLoans(Map.of("9100000001", loansDto));
+
+        ResponseEntity<CardsDto> cards = new CardsFallback(lastKnownGoodCache, OUTAGE).fetchCardDetails("id", "9100000001");
+        ResponseEntity<Map<String, LoansDto>> loans = new LoansFallback(lastKnownGoodCache, OUTAGE)
+                .fetchLoanDetailsBatch("id", List.of("9100000001", "9100000002"));
+
+        assertEquals(cardsDto, cards.getBody());
+        assertTrue(LastKnownGoodCache.isStale(cards));
+        assertEquals(Map.of("9100000001", loansDto), loans.getBody());
+        assertTrue(LastKnownGoodCache.isStale(loans));
+        assertFalse(LastKnownGoodCache.isStale(ResponseEntity.ok(cardsDto)));
+    }
+
+    @Test
+    void fallbacksReturnNullWithoutRecordedResponse() {
+        LastKnownGoodCache disabled = lastKnownGoodCache(false);
+        disabled.putCards("9100000001", cardsDto);
+
+        assertNull(new CardsFallback(disabled, OUTAGE).fetchCardDetails("id", "9100000001"));
+        assertNull(new LoansFallback(lastKnownGoodCache(true), OUTAGE).fetchLoanDetails("id", "9100000001"));
+        assertNull(new LoansFallback(lastKnownGoodCache(true), OUTAGE).fetchLoanDetailsBatch("id", List.of("9100000001")));
+    }
+
+    @Test
+    void fallbacksAnswerA404WithoutTheRecordedResponse() {
+        LastKnownGoodCache lastKnownGoodCache = lastKnownGoodCache(true);
+        lastKnownGoodCache.putCards("9100000001", cardsDto);
+        lastKnownGoodCache.putLoans("9100000001", loansDto);
+        FeignException notFound = new FeignException.NotFound("Not Found", request(), null, null);
+
+        ResponseEntity<CardsDto> cards = new CardsFallbackFactory(lastKnownGoodCache).create(notFound)
+                .fetchCardDetails("id", "9100000001");
+        ResponseEntity<LoansDto> loans = new LoansFallbackFactory(lastKnownGoodCache).create(notFound)
+                .fetchLoanDetails("id", "9100000001");
+
+        assertEquals(HttpStatus.NOT_FOUND, cards.getStatusCode());
+        assertNull(cards.getBody());
+        assertEquals(HttpStatus.NOT_FOUND, loans.getStatusCode());
+        assertNull(loans.getBody());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://cards/api/fetch", Map.of(), null, StandardCharsets.UTF_8,
+                null);
+    }
+
+    private static LastKnownGoodCache lastKnownGoodCache(boolean enabled) {
+        return new LastKnownGoodCache(new LastKnownGoodProperties(enabled, 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,110 @@
+package com.knowprogram.accounts.client;
+
+import com.knowprogram.accounts.config.HttpClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Headers;
+import feign.RequestLine;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledFeignClientTest {
+
+    interface ProtocolApi {
+        @RequestLine("GET /api/fetch")
+        String fetch();
+
+        @RequestLine("POST /api/fetchBatch")
+        @Headers("Content-Type: application/json")
+        String echo(String body);
+    }
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private PooledFeignClient pooledFeignClient;
+    private HttpServer httpServer;
+
+    @AfterEach
+    void tearDown() {
+        pooledFeignClient.close();
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+    }
+
+    @Test
+    void reusesHttp1ConnectionsAndReportsPoolMetrics() throws Exception {
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/api/fetch", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = exchange.getProtocol().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        httpServer.createContext("/api/fetchBatch", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = (exchange.getRequestHeaders().getFirst("Content-Type") + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        httpServer.start();
+        ProtocolApi api = client("loans", "http://localhost:" + httpServer.getAddress().getPort());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("HTTP/1.1", api.fetch());
+        }
+        assertEquals("application/json [\"9100000001\"]", api.echo("[\"9100000001\"]"));
+
+        // a connection goes back to the pool just after its response completes, so the next call may open a second one
+        assertTrue(clientPorts.size() <= 2, "opened " + clientPorts.size() + " connections for 21 calls");
+        assertEquals(clientPorts.size(), awaitPooledConnections("loans", clientPorts.size()));
+    }
+
+    private ProtocolApi client(String target, String url) {
+        HttpClientProperties.Pool pool = new HttpClientProperties.Pool(50, 200, Duration.ofSeconds(1),
+                Duration.ofSeconds(2), Duration.ofMillis(500), Duration.ofSeconds(30));
+        pooledFeignClient = new PooledFeignClient(new HttpClientProperties(true, pool, Map.of()), meterRegistry);
+        return Feign.builder().client(pooledFeignClient)
+                .target(new Target.HardCodedTarget<>(ProtocolApi.class, target, url));
+    }
+
+    /**
+     * The connections the pool holds, leased or available, once it holds {@code expected} of them or two seconds
+     * passed. A connection goes back to the pool on the I/O thread just after its response completed, and is
+     * counted in neither state in between.
+     */
+    private double awaitPooledConnections(String target, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        double pooled = poolConnections(target, "available") + poolConnections(target, "leased");
+        while (pooled != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            pooled = poolConnections(target, "available") + poolConnections(target, "leased");
+        }
+        return pooled;
+    }
+
+    private double poolConnections(String target, String state) {
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", target).tag("state", state).gauge().value();
+    }
+}
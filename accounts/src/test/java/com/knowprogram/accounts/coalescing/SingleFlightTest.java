@@ -0,0 +1,138 @@
+package com.knowprogram.accounts.coalescing;
+
+import com.knowprogram.accounts.config.CoalescingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 20;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger computations = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneComputationAndGetTheirOwnCopy() throws Exception {
+        SingleFlight<String, List<String>> singleFlight = singleFlight(100, Duration.ofSeconds(5));
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute("9100000001", this::blockedComputation)));
+        }
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        List<List<String>> values = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            values.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(List.of("value"), values.get(0));
+        assertNotSame(values.get(0), values.get(1));
+        assertEquals((CALLERS - 1) / (double) CALLERS, meterRegistry.get("accounts.coalescing.ratio").gauge().value());
+        assertEquals(0, meterRegistry.get("accounts.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() throws Exception {
+        SingleFlight<String, List<String>> singleFlight = singleFlight(100, Duration.ofSeconds(5));
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(callers.submit(() -> singleFlight.execute("9100000001", () -> {
+                blockedComputation();
+                throw new IllegalArgumentException("not found");
+            })));
+        }
+        awaitFollowers(4);
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, meterRegistry.get("accounts.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void callersBeyondTheKeyTableOrTheWaitRunTheirOwnComputation() throws Exception {
+        SingleFlight<String, List<String>> singleFlight = singleFlight(1, Duration.ofMillis(50));
+
+        Future<List<String>> leader = callers.submit(() -> singleFlight.execute("9100000001",
+                this::blockedComputation));
+        assertTrue(waitUntil(() -> computations.get() == 1));
+
+        assertEquals(List.of("own"), singleFlight.execute("9100000002", () -> List.of("own")));
+        assertEquals(List.of("own"), singleFlight.execute("9100000001", () -> List.of("own")));
+        release.countDown();
+        assertEquals(List.of("value"), leader.get(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, meterRegistry.get("accounts.coalescing.calls").tag("role", "bypass").counter().count());
+        assertEquals(1.0, meterRegistry.get("accounts.coalescing.calls").tag("role", "timeout").counter().count());
+        assertEquals(0, meterRegistry.get("accounts.coalescing.in.flight").gauge().value());
+    }
+
+    private SingleFlight<String, List<String>> singleFlight(int maxKeys, Duration maxWait) {
+        return new SingleFlight<>("test", new CoalescingProperties(true, maxKeys, maxWait), ArrayList::new,
+                meterRegistry);
+    }
+
+    private List<String> blockedComputation() {
+        computations.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of("value");
+    }
+
+    // followers only show up in the metrics once they got their result, so wait for them to be parked instead
+    private void awaitFollowers(int followers) throws InterruptedException {
+        assertTrue(waitUntil(() -> computations.get() == 1 && Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getState() == Thread.State.TIMED_WAITING)
+                .filter(thread -> List.of(thread.getStackTrace()).stream()
+                        .anyMatch(frame -> frame.getMethodName().equals("follow")))
+                .count() == followers));
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.knowprogram.accounts.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpClientConfigTest {
+
+    private final HttpClientProperties properties = new HttpClientProperties(true, new HttpClientProperties.Pool(50,
+            200, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMillis(500), Duration.ofSeconds(30)),
+            Map.of());
+
+    @Test
+    void refusesFeignTimeoutsThePoolWouldIgnore() {
+        FeignClientProperties feignClientProperties = new FeignClientProperties();
+        FeignClientProperties.FeignClientConfiguration loans = new FeignClientProperties.FeignClientConfiguration();
+        loans.setReadTimeout(5_000);
+        feignClientProperties.getConfig().put("loans", loans);
+
+        assertThrows(IllegalStateException.class, () -> new HttpClientConfig().pooledFeignClient(properties,
+                feignClientProperties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void acceptsFeignSettingsWithoutTimeouts() {
+        FeignClientProperties feignClientProperties = new FeignClientProperties();
+        FeignClientProperties.FeignClientConfiguration cards = new FeignClientProperties.FeignClientConfiguration();
+        cards.setDismiss404(true);
+        feignClientProperties.getConfig().put("cards", cards);
+
+        new HttpClientConfig().pooledFeignClient(properties, feignClientProperties, new SimpleMeterRegistry()).close();
+    }
+}
@@ -0,0 +1,103 @@
+package com.knowprogram.accounts.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.knowprogram.accounts.dto.AccountDTO;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.ErrorResponseDTO;
+import com.knowprogram.accounts.dto.LoansDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonConfigTest {
+
+    @Test
+    void writesTheSameBytesAsTheReflectiveMapper() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json());
+    }
+
+    @Test
+    void honoursInclusion() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_NULL));
+        assertSameJson(Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_EMPTY));
+        assertSameJson(Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_DEFAULT));
+    }
+
+    @Test
+    void honoursNamingStrategyAndIndentation() throws Exception {
+        assertSameJson(Jackson2ObjectMapperBuilder.json().propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE));
+        assertSameJson(Jackson2ObjectMapperBuilder.json().indentOutput(true));
+    }
+
+    @Test
+    void readsBackWhatItWrites() throws Exception {
+        ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json().modulesToInstall(new JsonConfig().blackbirdModule())
+                .build();
+        CustomerAllDetailsDto customerAllDetailsDto = customerAllDetailsDto();
+
+        assertEquals(customerAllDetailsDto, blackbird.readValue(blackbird.writeValueAsBytes(customerAllDetailsDto),
+                CustomerAllDetailsDto.class));
+    }
+
+    private static void assertSameJson(Jackson2ObjectMapperBuilder builder) throws Exception {
+        ObjectMapper reflective = builder.build();
+        ObjectMapper blackbird = builder.modulesToInstall(new JsonConfig().blackbirdModule()).build();
+        for (Object value : List.of(customerAllDetailsDto(), new CustomerAllDetailsDto(), customerDTO(),
+                new CustomerDTO(), new AccountDTO(), new CardsDto(), new LoansDto(), errorResponseDTO(),
+                Map.of("9876543210", customerAllDetailsDto().getCardsDto()))) {
+            assertArrayEquals(reflective.writeValueAsBytes(value), blackbird.writeValueAsBytes(value),
+                    value.getClass().getSimpleName());
+        }
+    }
+
+    private static CustomerAllDetailsDto customerAllDetailsDto() {
+        CustomerAllDetailsDto customerAllDetailsDto = new CustomerAllDetailsDto();
+        customerAllDetailsDto.setName("Jöhn \"Doe\"");
+        customerAllDetailsDto.setEmail("john.doe@example.com");
+        customerAllDetailsDto.setMobileNumber("9876543210");
+        customerAllDetailsDto.setAccountDTO(accountDTO());
+        customerAllDetailsDto.setCardsDto(new CardsDto("9876543210", "101000000001", "Credit Card", 100_000, 25_000,
+                75_000));
+        customerAllDetailsDto.setLoansDto(new LoansDto("9876543210", "000000000001", "Home Loan", 100_000, 40_000,
+                60_000));
+        customerAllDetailsDto.setStale(true);
+        return customerAllDetailsDto;
+    }
+
+    private static CustomerDTO customerDTO() {
+        CustomerDTO customerDTO = new CustomerDTO();
+        customerDTO.setName("John Doe");
+        customerDTO.setEmail("john.doe@example.com");
+        customerDTO.setMobileNumber("9876543210");
+        customerDTO.setAccountDTO(accountDTO());
+        return customerDTO;
+    }
+
+    private static AccountDTO accountDTO() {
+        AccountDTO accountDTO = new AccountDTO();
+        accountDTO.setAccountNumber(1_000_000_001L);
+        accountDTO.setAccountType("Savings");
+        accountDTO.setBranchAddress("123 New York Street");
+        return accountDTO;
+    }
+
+    private static ErrorResponseDTO errorResponseDTO() {
+        return ErrorResponseDTO.builder()
+                .apiPath("uri=/api/fetchCustomerDetails")
+                .errorCode(HttpStatus.NOT_FOUND)
+                .errorMessage("Customer not found with the given input data mobileNumber : '9876543210'")
+                .errorTime(LocalDateTime.of(2024, 6, 30, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.knowprogram.accounts.idgen;
+
+import com.knowprogram.accounts.audit.AuditAwareImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false"})
+@Import(AuditAwareImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SegmentedIdGeneratorTest {
+
+	private static final int INSTANCES = 4;
+	private static final int THREADS = 16;
+	private static final int IDS_PER_THREAD = 5_000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void concurrentInstancesNeverHandOutTheSameNumber() throws Exception {
+		// every simulated instance has its own generator and block source, sharing only the database
+		List<SegmentedIdGenerator> instances = new ArrayList<>();
+		for (int i = 0; i < INSTANCES; i++) {
+			instances.add(new SegmentedIdGenerator(new JdbcIdBlockSource(jdbcTemplate, transactionManager),
+					"stress_test", 1_000_000_000L, Long.MAX_VALUE, 37));
+		}
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			SegmentedIdGenerator generator = instances.get(t % INSTANCES);
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < IDS_PER_THREAD; i++) {
+					long id = generator.next();
+					assertTrue(ids.add(id), "duplicate id " + id);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id >= 1_000_000_000L));
+	}
+
+	@Test
+	void raisedInitialValueMovesAnExistingSequenceUp() {
+		JdbcIdBlockSource idBlockSource = new JdbcIdBlockSource(jdbcTemplate, transactionManager);
+		assertEquals(1_000L, idBlockSource.reserve("raised_test", 1_000L, Long.MAX_VALUE, 10));
+
+		assertEquals(5_000L, idBlockSource.reserve("raised_test", 5_000L, Long.MAX_VALUE, 10));
+		assertEquals(5_010L, idBlockSource.reserve("raised_test", 1_000L, Long.MAX_VALUE, 10));
+	}
+
+	@Test
+	void exhaustedSequenceFailsInsteadOfPassingItsMaximum() {
+		SegmentedIdGenerator generator = new SegmentedIdGenerator(new JdbcIdBlockSource(jdbcTemplate,
+				transactionManager), "exhausted_test", 1_000L, 1_004L, 3);
+		for (long expected = 1_000L; expected <= 1_004L; expected++) {
+			assertEquals(expected, generator.next());
+		}
+
+		assertThrows(IllegalStateException.class, generator::next);
+		assertEquals(1_005L, jdbcTemplate.queryForObject("SELECT next_value FROM id_block WHERE sequence_name = ?",
+				Long.class, "exhausted_test"));
+	}
+
+}
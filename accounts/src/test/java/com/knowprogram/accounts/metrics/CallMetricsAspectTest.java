@@ -0,0 +1,86 @@
+package com.knowprogram.accounts.metrics;
+
+import com.knowprogram.accounts.client.CardsFeignClient;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.exception.ResourceNotFoundException;
+import com.knowprogram.accounts.service.IAccountService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CallMetricsAspectTest {
+
+    private final PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final CallMetricsAspect aspect = new CallMetricsAspect(meterRegistry);
+
+    @Test
+    void timesServiceMethodsByOutcome() {
+        IAccountService target = mock(IAccountService.class);
+        when(target.fetchAccount("9999999999")).thenReturn(new CustomerDTO());
+        when(target.fetchAccount("8888888888"))
+                .thenThrow(new ResourceNotFoundException("Customer", "mobileNumber", "8888888888"));
+        when(target.deleteAccounts(any())).thenThrow(new IllegalStateException("boom"));
+        IAccountService service = proxy(target, IAccountService.class);
+
+        service.fetchAccount("9999999999");
+        service.fetchAccount("9999999999");
+        assertThrows(ResourceNotFoundException.class, () -> service.fetchAccount("8888888888"));
+        assertThrows(IllegalStateException.class, () -> service.deleteAccounts(List.of()));
+
+        assertEquals(2, serviceTimer("fetchAccount", "success").count());
+        assertEquals(1, serviceTimer("fetchAccount", "not-found").count());
+        assertEquals(1, serviceTimer("deleteAccounts", "error").count());
+        assertTrue(meterRegistry.scrape().contains(
+                "service_calls_seconds_bucket{method=\"fetchAccount\",outcome=\"success\""));
+    }
+
+    @Test
+    void countsNullAndStaleFeignResultsAsFallbackAndEmpty404sAsNotFound() {
+        CardsFeignClient target = mock(CardsFeignClient.class);
+        when(target.fetchCardDetails(any(), eq("9999999999"))).thenReturn(ResponseEntity.ok(new CardsDto()));
+        when(target.fetchCardDetails(any(), eq("8888888888"))).thenReturn(null);
+        when(target.fetchCardDetails(any(), eq("7777777777"))).thenReturn(ResponseEntity.ok()
+                .header("Warning", "110 - \"Response is Stale\"").body(new CardsDto()));
+        when(target.fetchCardDetails(any(), eq("6666666666"))).thenReturn(ResponseEntity.notFound().build());
+        CardsFeignClient client = proxy(target, CardsFeignClient.class);
+
+        client.fetchCardDetails("id", "9999999999");
+        client.fetchCardDetails("id", "8888888888");
+        client.fetchCardDetails("id", "7777777777");
+        client.fetchCardDetails("id", "6666666666");
+
+        assertEquals(1, feignTimer("success").count());
+        assertEquals(2, feignTimer("fallback").count());
+        assertEquals(1, feignTimer("not-found").count());
+    }
+
+    private <T> T proxy(T target, Class<T> type) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(type);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private Timer serviceTimer(String method, String outcome) {
+        return meterRegistry.get("service.calls").tag("method", method).tag("outcome", outcome).timer();
+    }
+
+    private Timer feignTimer(String outcome) {
+        return meterRegistry.get("feign.client.calls").tag("client", "cards").tag("method", "fetchCardDetails")
+                .tag("outcome", outcome).timer();
+    }
+}
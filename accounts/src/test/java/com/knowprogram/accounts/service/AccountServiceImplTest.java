@@ -0,0 +1,170 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.audit.AuditAwareImpl;
+import com.knowprogram.accounts.config.CoalescingConfig;
+import com.knowprogram.accounts.config.IdGeneratorConfig;
+import com.knowprogram.accounts.config.MobileNumberFilterConfig;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.CustomerPageDto;
+import com.knowprogram.accounts.dto.OffboardingResultDto;
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.exception.InvalidPageTokenException;
+import com.knowprogram.accounts.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "accounts.batch.chunk-size=2",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		// rows inserted by the tests never commit, so the filter would not know them
+		"accounts.mobile-number-filter.enabled=false"})
+@Import({AccountServiceImpl.class, AuditAwareImpl.class, IdGeneratorConfig.class, NoOpCacheManager.class,
+		CoalescingConfig.class, MobileNumberFilterConfig.class, SimpleMeterRegistry.class})
+class AccountServiceImplTest {
+
+	@Autowired
+	private AccountServiceImpl accountService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void fetchAccountIssuesOneStatement() {
+		createAccount("9000000001");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		CustomerDTO fetched = accountService.fetchAccount("9000000001");
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals("John Doe", fetched.getName());
+		assertNotNull(fetched.getAccountDTO().getAccountNumber());
+
+		statistics.clear();
+		assertThrows(ResourceNotFoundException.class, () -> accountService.fetchAccount("9000000002"));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void updateAccountLoadsOnceAndWritesOnlyChangedRows() {
+		createAccount("9000000003");
+		CustomerDTO customerDTO = accountService.fetchAccount("9000000003");
+		customerDTO.setEmail("john.updated@example.com");
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		assertTrue(accountService.updateAccount(customerDTO));
+		entityManager.flush();
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getEntityUpdateCount());
+		entityManager.clear();
+		Account account = entityManager.find(Account.class, customerDTO.getAccountDTO().getAccountNumber());
+		Customer customer = entityManager.find(Customer.class, account.getCustomerId());
+		assertEquals("john.updated@example.com", customer.getEmail());
+		assertEquals(1L, customer.getVersion());
+		assertEquals(0L, account.getVersion());
+	}
+
+	@Test
+	void updateAccountRejectsAStaleVersion() {
+		createAccount("9000000004");
+		CustomerDTO first = accountService.fetchAccount("9000000004");
+		CustomerDTO second = accountService.fetchAccount("9000000004");
+		assertEquals(0L, first.getVersion());
+		first.setEmail("first.update@example.com");
+		accountService.updateAccount(first);
+		entityManager.flush();
+		entityManager.clear();
+
+		second.setEmail("second.update@example.com");
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> accountService.updateAccount(second));
+		second.setVersion(null);
+		assertTrue(accountService.updateAccount(second));
+	}
+
+	@Test
+	void deleteAccountsReportsAffectedRows() {
+		createAccount("9000000004");
+		createAccount("9000000005");
+		createAccount("9000000006");
+
+		OffboardingResultDto result = accountService.deleteAccounts(
+				List.of("9000000004", "9000000005", "9000000005", "9000000006", "9000000007"));
+
+		assertEquals(4, result.getRequested());
+		assertEquals(3, result.getCustomersDeleted());
+		assertEquals(3, result.getAccountsDeleted());
+		assertThrows(ResourceNotFoundException.class, () -> accountService.fetchAccount("9000000005"));
+	}
+
+	@Test
+	void exportAccountsStreamsEveryCustomerInOrder() {
+		createAccount("9000000008");
+		createAccount("9000000009");
+
+		List<CustomerDTO> exported = new ArrayList<>();
+		accountService.exportAccounts(exported::add);
+
+		assertEquals(List.of("9000000008", "9000000009"),
+				exported.stream().map(CustomerDTO::getMobileNumber).toList());
+		assertNotNull(exported.get(1).getAccountDTO().getAccountNumber());
+		assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+	}
+
+	@Test
+	void listAccountsWalksPagesWithContinuationToken() {
+		for (int i = 10; i < 15; i++) {
+			createAccount("90000000" + i);
+		}
+
+		CustomerPageDto first = accountService.listAccounts(null, 2, "Savings", null, null);
+		CustomerPageDto second = accountService.listAccounts(first.getNextPageToken(), 2, "Savings", null, null);
+		CustomerPageDto last = accountService.listAccounts(second.getNextPageToken(), 2, "Savings", null, null);
+
+		assertEquals(List.of("9000000010", "9000000011"),
+				first.getCustomers().stream().map(CustomerDTO::getMobileNumber).toList());
+		assertEquals(List.of("9000000012", "9000000013"),
+				second.getCustomers().stream().map(CustomerDTO::getMobileNumber).toList());
+		assertEquals(List.of("9000000014"), last.getCustomers().stream().map(CustomerDTO::getMobileNumber).toList());
+		assertNull(last.getNextPageToken());
+		assertTrue(accountService.listAccounts(null, 2, "Current", null, null).getCustomers().isEmpty());
+		assertThrows(InvalidPageTokenException.class, () -> accountService.listAccounts("not a token", 2, null, null,
+				null));
+	}
+
+	private void createAccount(String mobileNumber) {
+		CustomerDTO customerDTO = new CustomerDTO();
+		customerDTO.setName("John Doe");
+		customerDTO.setEmail("john" + mobileNumber + "@example.com");
+		customerDTO.setMobileNumber(mobileNumber);
+		accountService.createAccount(customerDTO);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.audit.AuditAwareImpl;
+import com.knowprogram.accounts.config.CacheConfig;
+import com.knowprogram.accounts.config.CoalescingConfig;
+import com.knowprogram.accounts.config.IdGeneratorConfig;
+import com.knowprogram.accounts.config.MobileNumberFilterConfig;
+import com.knowprogram.accounts.constants.AccountConstants;
+import com.knowprogram.accounts.dto.CustomerDTO;
+import com.knowprogram.accounts.dto.ImportRowResultDto;
+import com.knowprogram.accounts.repository.CustomerAccountJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares rows/sec of the single-create path ({@code POST /api/create}) with the bulk import path.
+ * Run with {@code mvn test -Dtest=BulkImportBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "spring.jpa.show-sql=false"})
+@Import({AccountServiceImpl.class, BulkImportServiceImpl.class, CustomerAccountJdbcRepository.class,
+		AuditAwareImpl.class, IdGeneratorConfig.class, CacheConfig.class, CoalescingConfig.class,
+		MobileNumberFilterConfig.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportBenchmarkTest {
+
+	private static final int SINGLE_ROWS = 2_000;
+	private static final int BULK_ROWS = 50_000;
+
+	@Autowired
+	private IAccountService accountService;
+
+	@Autowired
+	private IBulkImportService bulkImportService;
+
+	@Test
+	void bulkImportIsAtLeastTenTimesFasterThanSingleCreate() throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < SINGLE_ROWS; i++) {
+			CustomerDTO customerDTO = new CustomerDTO();
+			customerDTO.setName("Single Customer " + i);
+			customerDTO.setEmail("single" + i + "@example.com");
+			customerDTO.setMobileNumber(String.valueOf(7000000000L + i));
+			accountService.createAccount(customerDTO);
+		}
+		double singleRowsPerSec = SINGLE_ROWS / ((System.nanoTime() - start) / 1e9);
+
+		StringBuilder file = new StringBuilder();
+		for (int i = 0; i < BULK_ROWS; i++) {
+			file.append("{\"name\":\"Bulk Customer ").append(i).append("\",\"email\":\"bulk").append(i)
+					.append("@example.com\",\"mobileNumber\":\"").append(8000000000L + i).append("\"}\n");
+		}
+		AtomicInteger created = new AtomicInteger();
+		start = System.nanoTime();
+		bulkImportService.importCustomers(new ByteArrayInputStream(file.toString().getBytes(StandardCharsets.UTF_8)),
+				MediaType.parseMediaType(AccountConstants.NDJSON), chunk -> created.addAndGet((int) chunk.stream()
+						.map(ImportRowResultDto::getStatus).filter(AccountConstants.IMPORT_CREATED::equals).count()));
+		double bulkRowsPerSec = BULK_ROWS / ((System.nanoTime() - start) / 1e9);
+
+		System.out.printf("single create: %.0f rows/s, bulk import: %.0f rows/s (%.1fx)%n", singleRowsPerSec,
+				bulkRowsPerSec, bulkRowsPerSec / singleRowsPerSec);
+		assertEquals(BULK_ROWS, created.get());
+		assertTrue(bulkRowsPerSec >= 10 * singleRowsPerSec);
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.audit.AuditAwareImpl;
+import com.knowprogram.accounts.config.IdGeneratorConfig;
+import com.knowprogram.accounts.config.MobileNumberFilterConfig;
+import com.knowprogram.accounts.constants.AccountConstants;
+import com.knowprogram.accounts.dto.ImportRowResultDto;
+import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.repository.CustomerAccountJdbcRepository;
+import com.knowprogram.accounts.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "accounts.mobile-number-filter.enabled=false"})
+@Import({BulkImportServiceImpl.class, CustomerAccountJdbcRepository.class, AuditAwareImpl.class,
+		IdGeneratorConfig.class, MobileNumberFilterConfig.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+class BulkImportServiceImplTest {
+
+	@Autowired
+	private IBulkImportService bulkImportService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Test
+	void csvImportKeepsCommasAndEscapedQuotesInsideQuotedFields() throws Exception {
+		String file = """
+				mobileNumber,"name",email
+				9100000001,"Doe, John",john@example.com
+				9100000002,"Jane ""JJ"" Roe",jane@example.com
+				9100000003,"Unterminated, Name,bad@example.com
+				""";
+
+		List<ImportRowResultDto> results = new ArrayList<>();
+		bulkImportService.importCustomers(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)),
+				MediaType.parseMediaType(AccountConstants.CSV), results::addAll);
+
+		assertEquals(List.of(AccountConstants.IMPORT_CREATED, AccountConstants.IMPORT_CREATED,
+				AccountConstants.IMPORT_INVALID), results.stream().map(ImportRowResultDto::getStatus).toList());
+		assertNull(results.get(2).getMobileNumber());
+		Customer customer = customerRepository.findByMobileNumber("9100000001").orElseThrow();
+		assertEquals("Doe, John", customer.getName());
+		assertEquals("john@example.com", customer.getEmail());
+		assertEquals("Jane \"JJ\" Roe", customerRepository.findByMobileNumber("9100000002").orElseThrow().getName());
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.audit.AuditAwareImpl;
+import com.knowprogram.accounts.config.CoalescingConfig;
+import com.knowprogram.accounts.config.IdGeneratorConfig;
+import com.knowprogram.accounts.config.MobileNumberFilterConfig;
+import com.knowprogram.accounts.dto.CustomerPageDto;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the latency of a page at increasing depths for keyset paging ({@code GET /api/list}) and OFFSET paging.
+ * Uses the application's pooled data source, so connection setup does not drown out the queries.
+ * Run with {@code mvn test -Dtest=CustomerListingBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "spring.jpa.show-sql=false"})
+@Import({AccountServiceImpl.class, AuditAwareImpl.class, IdGeneratorConfig.class, NoOpCacheManager.class,
+		CoalescingConfig.class, MobileNumberFilterConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerListingBenchmarkTest {
+
+	private static final int ROWS = 1_000_000;
+	private static final int PAGE_SIZE = 50;
+	private static final int WARMUP_ITERATIONS = 1_000;
+	private static final int ITERATIONS = 20;
+
+	@Autowired
+	private IAccountService accountService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void keysetPagesStayFlatWhileOffsetPagesDegrade() {
+		jdbcTemplate.update("INSERT INTO customer (name, email, mobile_number, created_at, created_by) "
+				+ "SELECT 'Customer ' || X, 'customer' || X || '@example.com', CAST(6000000000 + X AS VARCHAR), "
+				+ "CURRENT_TIMESTAMP, 'BENCHMARK' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+		jdbcTemplate.update("INSERT INTO account (customer_id, account_number, account_type, branch_address, "
+				+ "created_at, created_by) SELECT customer_id, 1000000000 + customer_id, 'Savings', 'Benchmark', "
+				+ "CURRENT_TIMESTAMP, 'BENCHMARK' FROM customer");
+		long firstCustomerId = jdbcTemplate.queryForObject("SELECT MIN(customer_id) FROM customer", Long.class);
+
+		IntConsumer keysetPage = afterCustomerId -> {
+			String pageToken = Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(Long.toString(afterCustomerId).getBytes(StandardCharsets.US_ASCII));
+			CustomerPageDto page = accountService.listAccounts(pageToken, PAGE_SIZE, null, null, null);
+			assertEquals(PAGE_SIZE, page.getCustomers().size());
+		};
+		IntConsumer offsetPage = offset -> assertEquals(PAGE_SIZE, offsetPage(offset).size());
+		// shallow pages only, deep OFFSET pages are too slow to warm up with
+		averageMs(WARMUP_ITERATIONS, i -> keysetPage.accept((int) firstCustomerId + i));
+		averageMs(WARMUP_ITERATIONS, offsetPage);
+
+		double keysetMs = 0;
+		double offsetMs = 0;
+		for (int depth : new int[]{0, 10_000, 100_000, 500_000, 900_000}) {
+			// every iteration asks for a different page so H2 cannot hand back the previous result
+			keysetMs = averageMs(ITERATIONS, i -> keysetPage.accept((int) firstCustomerId + depth + i - 1));
+			offsetMs = averageMs(ITERATIONS, i -> offsetPage.accept(depth + i));
+			System.out.printf("depth %,9d: keyset %.2f ms/page, offset %.2f ms/page%n", depth, keysetMs, offsetMs);
+		}
+		assertTrue(keysetMs * 10 < offsetMs);
+	}
+
+	private List<CustomerAccountProjection> offsetPage(int offset) {
+		return entityManager.createQuery("select new com.knowprogram.accounts.repository.CustomerAccountProjection("
+						+ "c.customerId, c.name, c.email, c.mobileNumber, c.version, a.accountNumber, a.accountType, "
+						+ "a.branchAddress, a.version) from Customer c left join Account a on a.customerId = c.customerId "
+						+ "order by c.customerId", CustomerAccountProjection.class)
+				.setFirstResult(offset).setMaxResults(PAGE_SIZE).getResultList();
+	}
+
+	private static double averageMs(int iterations, IntConsumer page) {
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			page.accept(i);
+		}
+		return (System.nanoTime() - start) / 1e6 / iterations;
+	}
+
+}
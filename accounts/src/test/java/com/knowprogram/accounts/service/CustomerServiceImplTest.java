@@ -0,0 +1,140 @@
+package com.knowprogram.accounts.service;
+
+import com.knowprogram.accounts.bloom.MobileNumberFilter;
+import com.knowprogram.accounts.bloom.MobileNumberSource;
+import com.knowprogram.accounts.client.CardsFeignClient;
+import com.knowprogram.accounts.client.DownstreamCallExecutor;
+import com.knowprogram.accounts.client.LastKnownGoodCache;
+import com.knowprogram.accounts.client.LoansFeignClient;
+import com.knowprogram.accounts.config.BatchProperties;
+import com.knowprogram.accounts.config.FanOutProperties;
+import com.knowprogram.accounts.config.LastKnownGoodProperties;
+import com.knowprogram.accounts.config.MobileNumberFilterProperties;
+import com.knowprogram.accounts.dto.CardsDto;
+import com.knowprogram.accounts.dto.CustomerAllDetailsDto;
+import com.knowprogram.accounts.dto.CustomerDetailsBatchItemDto;
+import com.knowprogram.accounts.dto.LoansDto;
+import com.knowprogram.accounts.entity.Account;
+import com.knowprogram.accounts.entity.Customer;
+import com.knowprogram.accounts.repository.AccountRepository;
+import com.knowprogram.accounts.repository.CustomerAccountProjection;
+import com.knowprogram.accounts.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final LoansFeignClient loansFeignClient = mock(LoansFeignClient.class);
+    private final CardsFeignClient cardsFeignClient = mock(CardsFeignClient.class);
+    private final FanOutProperties fanOutProperties = new FanOutProperties(true, 4, 10, Duration.ofSeconds(2),
+            Duration.ofSeconds(2));
+    private final DownstreamCallExecutor downstreamCallExecutor = new DownstreamCallExecutor(fanOutProperties,
+            meterRegistry, new MockEnvironment());
+    private final LastKnownGoodCache lastKnownGoodCache = new LastKnownGoodCache(
+            new LastKnownGoodProperties(true, 100, Duration.ofMinutes(1)), meterRegistry);
+    private final CustomerServiceImpl customerService = new CustomerServiceImpl(accountRepository,
+            customerRepository, loansFeignClient, cardsFeignClient, downstreamCallExecutor, fanOutProperties,
+            new BatchProperties(100), null, lastKnownGoodCache, new MobileNumberFilter(
+            new MobileNumberFilterProperties(false, 1_000, 0.01, Duration.ofHours(1)),
+            mock(MobileNumberSource.class), meterRegistry));
+
+    private final LoansDto loansDto = new LoansDto("9100000001", "100000000001", "Home Loan", 100000, 0, 100000);
+    private final CardsDto cardsDto = new CardsDto("9100000002", "100000000002", "Credit Card", 100000, 0, 100000);
+
+    @AfterEach
+    void tearDown() {
+        downstreamCallExecutor.shutdown();
+    }
+
+    @Test
+    void batchKeepsCustomersWithoutCardOrLoanAndServesTheOthersFromTheLastKnownGoodCopy() {
+        List<String> mobileNumbers = List.of("9100000001", "9100000002");
+        when(customerRepository.findByMobileNumberIn(any())).thenReturn(List.of(customer(1L, "9100000001"),
+                customer(2L, "9100000002")));
+        when(accountRepository.findByCustomerIdIn(any())).thenReturn(List.of(account(1L), account(2L)));
+        // batch responses report numbers without a loan or card with a null value
+        Map<String, LoansDto> loans = new HashMap<>();
+        loans.put("9100000001", loansDto);
+        loans.put("9100000002", null);
+        Map<String, CardsDto> cards = new HashMap<>();
+        cards.put("9100000001", null);
+        cards.put("9100000002", cardsDto);
+        when(loansFeignClient.fetchLoanDetailsBatch(any(), any())).thenReturn(ResponseEntity.ok(loans)).thenReturn(null);
+        when(cardsFeignClient.fetchCardDetailsBatch(any(), any())).thenReturn(ResponseEntity.ok(cards)).thenReturn(null);
+
+        List<CustomerDetailsBatchItemDto> fresh = fetchBatch(mobileNumbers);
+        List<CustomerDetailsBatchItemDto> stale = fetchBatch(mobileNumbers);
+
+        for (List<CustomerDetailsBatchItemDto> items : List.of(fresh, stale)) {
+            CustomerAllDetailsDto first = items.get(0).getCustomerDetails();
+            CustomerAllDetailsDto second = items.get(1).getCustomerDetails();
+            assertEquals(loansDto, first.getLoansDto());
+            assertNull(first.getCardsDto());
+            assertNull(second.getLoansDto());
+            assertEquals(cardsDto, second.getCardsDto());
+        }
+        assertFalse(fresh.get(0).getCustomerDetails().isStale());
+        assertTrue(stale.get(0).getCustomerDetails().isStale());
+        assertTrue(stale.get(1).getCustomerDetails().isStale());
+    }
+
+    @Test
+    void aggregateDropsTheRecordedCopyOnA404AndServesItOnlyWhenTheCallFails() {
+        when(customerRepository.findCustomerAccountByMobileNumber("9100000001")).thenReturn(Optional.of(
+                new CustomerAccountProjection(1L, "John Doe", "john@example.com", "9100000001", 0L, 1_000_000_001L,
+                        "Savings", "123 Main Street", 0L)));
+        when(cardsFeignClient.fetchCardDetails(any(), any())).thenReturn(ResponseEntity.ok(cardsDto));
+        // found, then deleted, then the loans service fails with nothing recorded to fall back on
+        when(loansFeignClient.fetchLoanDetails(any(), any())).thenReturn(ResponseEntity.ok(loansDto))
+                .thenReturn(ResponseEntity.notFound().build())
+                .thenReturn(null);
+
+        CustomerAllDetailsDto fresh = customerService.aggregateCustomerDetails("9100000001", "id");
+        CustomerAllDetailsDto deleted = customerService.aggregateCustomerDetails("9100000001", "id");
+        CustomerAllDetailsDto failed = customerService.aggregateCustomerDetails("9100000001", "id");
+
+        assertEquals(loansDto, fresh.getLoansDto());
+        assertNull(deleted.getLoansDto());
+        assertFalse(deleted.isStale());
+        assertNull(failed.getLoansDto());
+        assertFalse(failed.isStale());
+        assertEquals(cardsDto, failed.getCardsDto());
+    }
+
+    private List<CustomerDetailsBatchItemDto> fetchBatch(List<String> mobileNumbers) {
+        List<CustomerDetailsBatchItemDto> items = new ArrayList<>();
+        customerService.fetchCustomerDetailsBatch(mobileNumbers, "id", items::addAll);
+        return items;
+    }
+
+    private static Customer customer(long customerId, String mobileNumber) {
+        return Customer.builder().customerId(customerId).name("John Doe").email(mobileNumber + "@example.com")
+                .mobileNumber(mobileNumber).build();
+    }
+
+    private static Account account(long customerId) {
+        return Account.builder().customerId(customerId).accountNumber(1_000_000_000L + customerId)
+                .accountType("Savings").branchAddress("123 Main Street").build();
+    }
+}
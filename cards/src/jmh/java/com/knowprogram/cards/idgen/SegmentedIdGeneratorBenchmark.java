@@ -0,0 +1,55 @@
+package com.knowprogram.cards.idgen;
+
+import com.knowprogram.cards.constants.CardsConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Card number generation against an in-memory block source, so the numbers show the generator's own cost and
+ * how it holds up when request threads contend for it; the id_block round trip is the block size's business.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SegmentedIdGeneratorBenchmark {
+
+    @Param({"100"})
+    private int blockSize;
+
+    private SegmentedIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong nextBlock = new AtomicLong(CardsConstants.CARD_NUMBER_START);
+        IdBlockSource idBlockSource = (sequenceName, initialValue, maxValue, size) -> nextBlock.getAndAdd(size);
+        generator = new SegmentedIdGenerator(idBlockSource, CardsConstants.CARD_NUMBER_SEQUENCE,
+                CardsConstants.CARD_NUMBER_START, Long.MAX_VALUE, blockSize);
+    }
+
+    @Benchmark
+    public long next() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextContended() {
+        return generator.next();
+    }
+}
@@ -0,0 +1,48 @@
+package com.knowprogram.cards.mapper;
+
+import com.knowprogram.cards.dto.CardsDto;
+import com.knowprogram.cards.entity.Cards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping done on every cards request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private Cards cards;
+    private CardsDto cardsDto;
+
+    @Setup
+    public void setUp() {
+        cards = Cards.builder().cardId(1L).mobileNumber("9876543210").cardNumber("101000000001")
+                .cardType("Credit Card").totalLimit(100_000).amountUsed(25_000).availableAmount(75_000).build();
+        cardsDto = CardsMapper.mapToCardsDto(cards, new CardsDto());
+    }
+
+    @Benchmark
+    public CardsDto cardsToDto() {
+        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+    }
+
+    @Benchmark
+    public Cards dtoToCards() {
+        return CardsMapper.mapToCards(cardsDto, new Cards());
+    }
+}
@@ -0,0 +1,16 @@
+package com.knowprogram.cards.bloom;
+
+import java.util.function.Consumer;
+
+/**
+ * Where {@link MobileNumberFilter} reads the known mobile numbers from when it is rebuilt.
+ */
+public interface MobileNumberSource {
+
+    long count();
+
+    /**
+     * Hands every known mobile number to the consumer, without holding them all in memory.
+     */
+    void forEach(Consumer<String> consumer);
+}
@@ -0,0 +1,25 @@
+package com.knowprogram.cards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the adaptive limit on concurrent requests to the short {@code /api} endpoints.
+ *
+ * @param enabled      reject requests beyond the limit with 503
+ * @param initialLimit concurrent requests allowed before any latency was observed
+ * @param minLimit     the limit never drops below this
+ * @param maxLimit     the limit never grows above this
+ * @param tolerance    how much slower than the long-term latency a request may be before the limit shrinks
+ * @param smoothing    weight of every new estimate in the limit, between 0 and 1
+ * @param longWindow   requests the long-term latency average spans
+ */
+@ConfigurationProperties(prefix = "cards.concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("20") int initialLimit,
+                                         @DefaultValue("4") int minLimit,
+                                         @DefaultValue("500") int maxLimit,
+                                         @DefaultValue("1.5") double tolerance,
+                                         @DefaultValue("0.2") double smoothing,
+                                         @DefaultValue("600") int longWindow) {
+}
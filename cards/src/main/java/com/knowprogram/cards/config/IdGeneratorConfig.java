@@ -0,0 +1,27 @@
+package com.knowprogram.cards.config;
+
+import com.knowprogram.cards.constants.CardsConstants;
+import com.knowprogram.cards.idgen.IdBlockSource;
+import com.knowprogram.cards.idgen.JdbcIdBlockSource;
+import com.knowprogram.cards.idgen.SegmentedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdBlockSource idBlockSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcIdBlockSource(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public SegmentedIdGenerator cardNumberGenerator(IdBlockSource idBlockSource,
+                                                    @Value("${cards.id-block-size:100}") int blockSize) {
+        return new SegmentedIdGenerator(idBlockSource, CardsConstants.CARD_NUMBER_SEQUENCE,
+                CardsConstants.CARD_NUMBER_START, CardsConstants.CARD_NUMBER_MAX, blockSize);
+    }
+}
@@ -0,0 +1,23 @@
+package com.knowprogram.cards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Bloom filter of the mobile numbers with a card.
+ *
+ * @param enabled                  answer lookups of definitely unknown mobile numbers without a query
+ * @param expectedInsertions       smallest number of entries the filter is sized for; a rebuild sizes it for twice
+ *                                 the current row count if that is more
+ * @param falsePositiveProbability share of unknown mobile numbers let through to the database at the sized entries
+ * @param rebuildInterval          time between rebuilds from the database, which drop deleted numbers, resize, and
+ *                                 pick up numbers inserted through other instances; those read as not found until then
+ */
+@ConfigurationProperties(prefix = "cards.mobile-number-filter")
+public record MobileNumberFilterProperties(@DefaultValue("true") boolean enabled,
+                                           @DefaultValue("100000") long expectedInsertions,
+                                           @DefaultValue("0.01") double falsePositiveProbability,
+                                           @DefaultValue("5m") Duration rebuildInterval) {
+}
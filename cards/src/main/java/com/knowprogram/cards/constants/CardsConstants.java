@@ -3,6 +3,9 @@ package com.knowprogram.cards.constants;
 public interface CardsConstants {
     String CREDIT_CARD = "Credit Card";
     int NEW_CARD_LIMIT = 1_00_000;
+    String CARD_NUMBER_SEQUENCE = "card_number";
+    long CARD_NUMBER_START = 101_000_000_000L;
+    long CARD_NUMBER_MAX = 999_999_999_999L;
     String STATUS_201 = "201";
     String MESSAGE_201 = "Card created successfully";
     String STATUS_200 = "200";
@@ -10,4 +13,5 @@ public interface CardsConstants {
     String STATUS_417 = "417";
     String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    int BATCH_MAX_SIZE = 1000;
 }
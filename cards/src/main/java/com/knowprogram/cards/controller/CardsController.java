@@ -13,7 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @Tag(name = "CRUD REST APIs for Cards in EazyBank", description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, " +
         "FETCH AND DELETE card details")
 @RestController
@@ -73,6 +78,21 @@ public class CardsController {
         return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
     }
 
+    @Operation(summary = "Fetch Card Details Batch REST API", description = "REST API to fetch card details for " +
+            "many mobile numbers. Mobile numbers without a card are returned with a null value")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status OK"), @ApiResponse(responseCode =
+            "500", description = "HTTP Status Internal Server Error", content = @Content(schema =
+    @Schema(implementation = ErrorResponseDto.class)))})
+    @PostMapping("/fetchBatch")
+    public ResponseEntity<Map<String, CardsDto>> fetchCardDetailsBatch(
+            @RequestHeader("peoplebank-correlation-id") String correlationId,
+            @RequestBody @NotEmpty @Size(max = CardsConstants.BATCH_MAX_SIZE, message = "At most " +
+                    CardsConstants.BATCH_MAX_SIZE + " mobile numbers can be fetched per request")
+            List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        logger.debug("peoplebank-correlation-id found: {}", correlationId);
+        return ResponseEntity.status(HttpStatus.OK).body(iCardsService.fetchCards(mobileNumbers));
+    }
+
     @Operation(summary = "Update Card Details REST API", description = "REST API to update card details based on a " +
             "card number")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "HTTP Status OK"), @ApiResponse(responseCode =
@@ -1,12 +1,24 @@
 package com.knowprogram.cards.repository;
 
 import com.knowprogram.cards.entity.Cards;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CardsRepository extends JpaRepository<Cards, Long> {
     Optional<Cards> findByMobileNumber(String mobileNumber);
 
     Optional<Cards> findByCardNumber(String cardNumber);
+
+    List<Cards> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Cards c where c.mobileNumber = :mobileNumber")
+    int deleteByMobileNumber(String mobileNumber);
 }
@@ -1,17 +1,23 @@
 package com.knowprogram.cards.service;
 
+import com.knowprogram.cards.bloom.MobileNumberFilter;
 import com.knowprogram.cards.dto.CardsDto;
 import com.knowprogram.cards.entity.Cards;
 import com.knowprogram.cards.exception.CardAlreadyExistsException;
 import com.knowprogram.cards.exception.ResourceNotFoundException;
+import com.knowprogram.cards.idgen.SegmentedIdGenerator;
 import com.knowprogram.cards.mapper.CardsMapper;
 import com.knowprogram.cards.repository.CardsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import com.knowprogram.cards.constants.CardsConstants;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 public class CardsService implements ICardsService {
@@ -19,16 +25,35 @@ public class CardsService implements ICardsService {
     @Autowired
     private CardsRepository cardsRepository;
 
+    @Autowired
+    private SegmentedIdGenerator cardNumberGenerator;
+
+    @Autowired
+    private MobileNumberFilter mobileNumberFilter;
+
+    @Value("${cards.batch.chunk-size:100}")
+    private int batchChunkSize;
+
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
+        Optional<Cards> optionalCards= mobileNumberFilter.find(mobileNumber, cardsRepository::findByMobileNumber);
         if(optionalCards.isPresent()){
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
         }
-        cardsRepository.save(createNewCard(mobileNumber));
+        try {
+            cardsRepository.save(createNewCard(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            // the filter only learns of numbers inserted through another instance at its next rebuild; the unique
+            // constraint on the mobile number catches those
+            if (cardsRepository.findByMobileNumber(mobileNumber).isPresent()) {
+                throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
+            }
+            throw ex;
+        }
+        mobileNumberFilter.add(mobileNumber);
     }
 
     /**
@@ -37,8 +62,7 @@ public class CardsService implements ICardsService {
      */
     private Cards createNewCard(String mobileNumber) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(Long.toString(cardNumberGenerator.next()));
         newCard.setMobileNumber(mobileNumber);
         newCard.setCardType(CardsConstants.CREDIT_CARD);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
@@ -54,12 +78,39 @@ public class CardsService implements ICardsService {
      */
     @Override
     public CardsDto fetchCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        Cards cards = mobileNumberFilter.find(mobileNumber, cardsRepository::findByMobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         return CardsMapper.mapToCardsDto(cards, new CardsDto());
     }
 
+    /**
+     * Resolves the mobile numbers with one IN query per chunk of {@code cards.batch.chunk-size} numbers, leaving out
+     * the numbers the mobile number filter rules out.
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Card Details keyed by mobile number, in input order, with a null value for numbers without a card
+     */
+    @Override
+    public Map<String, CardsDto> fetchCards(List<String> mobileNumbers) {
+        Map<String, CardsDto> cardsByMobileNumber = new LinkedHashMap<>();
+        mobileNumbers.forEach(mobileNumber -> cardsByMobileNumber.put(mobileNumber, null));
+        List<String> knownMobileNumbers = mobileNumberFilter.mightContainAll(cardsByMobileNumber.keySet());
+        int found = 0;
+        for (int from = 0; from < knownMobileNumbers.size(); from += batchChunkSize) {
+            List<String> chunk = knownMobileNumbers.subList(from, Math.min(from + batchChunkSize,
+                    knownMobileNumbers.size()));
+            for (Cards cards : cardsRepository.findByMobileNumberIn(chunk)) {
+                if (cardsByMobileNumber.putIfAbsent(cards.getMobileNumber(),
+                        CardsMapper.mapToCardsDto(cards, new CardsDto())) == null) {
+                    found++;
+                }
+            }
+        }
+        mobileNumberFilter.recordFalsePositives(knownMobileNumbers.size() - found);
+        return cardsByMobileNumber;
+    }
+
     /**
      *
      * @param cardsDto - CardsDto Object
@@ -71,6 +122,8 @@ public class CardsService implements ICardsService {
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
         CardsMapper.mapToCards(cardsDto, cards);
         cardsRepository.save(cards);
+        // the update may have moved the card to another mobile number
+        mobileNumberFilter.add(cards.getMobileNumber());
         return  true;
     }
 
@@ -80,10 +133,13 @@ public class CardsService implements ICardsService {
      */
     @Override
     public boolean deleteCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
-        );
-        cardsRepository.deleteById(cards.getCardId());
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+        }
+        if (cardsRepository.deleteByMobileNumber(mobileNumber) == 0) {
+            mobileNumberFilter.recordFalsePositives(1);
+            throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+        }
         return true;
     }
 
@@ -2,6 +2,9 @@ package com.knowprogram.cards.service;
 
 import com.knowprogram.cards.dto.CardsDto;
 
+import java.util.List;
+import java.util.Map;
+
 public interface ICardsService {
     /**
      *
@@ -16,6 +19,13 @@ public interface ICardsService {
      */
     CardsDto fetchCard(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Card Details keyed by mobile number, in input order, with a null value for numbers without a card
+     */
+    Map<String, CardsDto> fetchCards(List<String> mobileNumbers);
+
     /**
      *
      * @param cardsDto - CardsDto Object
@@ -0,0 +1,100 @@
+package com.knowprogram.cards.service;
+
+import com.knowprogram.cards.audit.AuditAwareImpl;
+import com.knowprogram.cards.bloom.JdbcMobileNumberSource;
+import com.knowprogram.cards.bloom.MobileNumberFilter;
+import com.knowprogram.cards.config.IdGeneratorConfig;
+import com.knowprogram.cards.config.MobileNumberFilterConfig;
+import com.knowprogram.cards.config.MobileNumberFilterProperties;
+import com.knowprogram.cards.dto.CardsDto;
+import com.knowprogram.cards.entity.Cards;
+import com.knowprogram.cards.exception.CardAlreadyExistsException;
+import com.knowprogram.cards.repository.CardsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "cards.batch.chunk-size=10",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		// rows inserted by the tests never commit, so the filter would not know them
+		"cards.mobile-number-filter.enabled=false"})
+@Import({CardsService.class, AuditAwareImpl.class, IdGeneratorConfig.class, MobileNumberFilterConfig.class,
+		SimpleMeterRegistry.class})
+class CardsServiceTest {
+
+	@Autowired
+	private CardsService cardsService;
+
+	@Autowired
+	private CardsRepository cardsRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void fetchCardsIssuesOneQueryPerChunk() {
+		List<String> mobileNumbers = new ArrayList<>();
+		for (int i = 0; i < 45; i++) {
+			String mobileNumber = String.valueOf(9000000000L + i);
+			mobileNumbers.add(mobileNumber);
+			if (i % 3 != 0) {
+				cardsRepository.save(Cards.builder().mobileNumber(mobileNumber).cardNumber(String.valueOf(100000000000L + i))
+						.cardType("Credit Card").totalLimit(100000).amountUsed(0).availableAmount(100000).build());
+			}
+		}
+		cardsRepository.flush();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		Map<String, CardsDto> cards = cardsService.fetchCards(mobileNumbers);
+
+		assertEquals(5, statistics.getPrepareStatementCount());
+		assertEquals(mobileNumbers, List.copyOf(cards.keySet()));
+		assertNull(cards.get("9000000000"));
+		assertNotNull(cards.get("9000000001"));
+		assertEquals("100000000001", cards.get("9000000001").getCardNumber());
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void createCardRejectsANumberTheFilterHasNotSeenYet() {
+		MobileNumberFilter mobileNumberFilter = new MobileNumberFilter(new MobileNumberFilterProperties(true, 1_000, 0.01,
+				Duration.ofHours(1)), new JdbcMobileNumberSource(jdbcTemplate, "cards"), new SimpleMeterRegistry());
+		mobileNumberFilter.rebuild();
+		// committed through another instance after the rebuild, as createCard commits its own save
+		cardsRepository.save(Cards.builder().mobileNumber("9100000001").cardNumber("100000000001")
+				.cardType("Credit Card").totalLimit(100000).amountUsed(0).availableAmount(100000).build());
+		Object disabledFilter = ReflectionTestUtils.getField(cardsService, "mobileNumberFilter");
+		ReflectionTestUtils.setField(cardsService, "mobileNumberFilter", mobileNumberFilter);
+		try {
+			assertThrows(CardAlreadyExistsException.class, () -> cardsService.createCard("9100000001"));
+			assertEquals(1, cardsRepository.count());
+		} finally {
+			ReflectionTestUtils.setField(cardsService, "mobileNumberFilter", disabledFilter);
+			cardsRepository.deleteAll();
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.knowprogram.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the workload either open loop, starting requests on a fixed schedule whether or not earlier ones completed,
+ * or closed loop, with a fixed number of requests in flight. Open loop latencies count from the scheduled start, so
+ * a request held up by the ones before it is charged for the wait rather than hiding it (coordinated omission).
+ */
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final HttpClient httpClient;
+    private final Map<String, URI> serviceUris;
+    private final LoadTestOptions options;
+    private final MobileNumbers mobileNumbers;
+
+    LoadDriver(HttpClient httpClient, Map<String, URI> serviceUris, LoadTestOptions options,
+               MobileNumbers mobileNumbers) {
+        this.httpClient = httpClient;
+        this.serviceUris = serviceUris;
+        this.options = options;
+        this.mobileNumbers = mobileNumbers;
+    }
+
+    /**
+     * Creates the seeded customers with an account, a card and a loan each.
+     *
+     * @param directUris the services themselves, seeding is not worth routing through the gateway
+     * @return requests that failed
+     */
+    int seed(Map<String, URI> directUris) throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < SEED_CONCURRENCY; worker++) {
+                executor.execute(() -> {
+                    for (int index = next.getAndIncrement(); index < options.seedCustomers();
+                         index = next.getAndIncrement()) {
+                        String mobileNumber = mobileNumbers.seeded(index);
+                        for (Route route : List.of(Route.CREATE_ACCOUNT, Route.CREATE_CARD, Route.CREATE_LOAN)) {
+                            int status = send(route, directUris.get(route.service()), mobileNumber);
+                            if (status < 200 || status >= 300) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        return failures.get();
+    }
+
+    Results run(Duration duration) {
+        Results results = new Results();
+        long start = System.nanoTime();
+        if (options.rps() > 0) {
+            openLoop(duration.toNanos(), results);
+        } else {
+            closedLoop(duration.toNanos(), results);
+        }
+        results.elapsed(Duration.ofNanos(System.nanoTime() - start));
+        return results;
+    }
+
+    private void openLoop(long durationNanos, Results results) {
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double intervalNanos = 1e9 / options.rps();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * intervalNanos);
+                if (scheduled - start >= durationNanos) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Route route = options.workload().pick();
+                if (!inFlight.tryAcquire()) {
+                    results.dropped(route);
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        call(route, scheduled, results);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void closedLoop(long durationNanos, Results results) {
+        long end = System.nanoTime() + durationNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.concurrency(); worker++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() - end < 0) {
+                        call(options.workload().pick(), System.nanoTime(), results);
+                    }
+                });
+            }
+        }
+    }
+
+    private void call(Route route, long startNanos, Results results) {
+        int status = send(route, serviceUris.get(route.service()), mobileNumbers.forRoute(route));
+        results.record(route, System.nanoTime() - startNanos, status);
+    }
+
+    private int send(Route route, URI serviceUri, String mobileNumber) {
+        try {
+            return httpClient.send(route.request(serviceUri, mobileNumber, REQUEST_TIMEOUT),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.knowprogram.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the services offline (see {@link ServiceLandscape}), seeds customers, and drives one workload at them,
+ * reporting throughput and latency percentiles per route. Build the services first
+ * ({@code mvn package -DskipTests} in accounts, cards, loans and gatewayserver), then from this directory:
+ * <pre>
+ * mvn compile exec:java -Dexec.args="--workload=fetch-heavy --rps=200 --duration=60s"
+ * mvn compile exec:java -Dexec.args="--workload=create-heavy --concurrency=32 --target=direct"
+ * </pre>
+ * See {@link LoadTestOptions} for all options.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        try (ServiceLandscape landscape = ServiceLandscape.start(options, httpClient)) {
+            MobileNumbers mobileNumbers = new MobileNumbers(options.seedCustomers());
+            LoadDriver driver = new LoadDriver(httpClient, landscape.serviceUris(options.target()), options,
+                    mobileNumbers);
+            System.out.printf("seeding %d customers%n", options.seedCustomers());
+            int seedFailures = driver.seed(landscape.serviceUris(LoadTestOptions.Target.DIRECT));
+            if (!options.warmup().isZero()) {
+                System.out.printf("warming up for %ss%n", options.warmup().toSeconds());
+                driver.run(options.warmup());
+            }
+            System.out.printf("measuring for %ss%n", options.duration().toSeconds());
+            Report report = Report.of(options, seedFailures, driver.run(options.duration()));
+            report.print(System.out);
+            report.write(options.report());
+            System.out.printf("%nreport written to %s%n", options.report().toAbsolutePath());
+        }
+    }
+}
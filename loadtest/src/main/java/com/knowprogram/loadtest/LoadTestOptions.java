@@ -0,0 +1,89 @@
+package com.knowprogram.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param workload       request mix, {@code fetch-heavy}, {@code create-heavy} or {@code mixed}
+ * @param rps            requests started per second regardless of how fast they complete (open loop); 0 to run at
+ *                       {@code concurrency} instead
+ * @param concurrency    requests kept in flight, each started as soon as the previous one completes (closed loop)
+ * @param warmup         load applied before measuring, not reported
+ * @param duration       measured load
+ * @param seedCustomers  customers, with a card and a loan each, created before the warmup for the fetches to find
+ * @param target         send the load through the gateway or straight to the services
+ * @param root           repository root, holding the services' {@code target} directories and the configserver's
+ *                       config files
+ * @param report         where the JSON report goes
+ * @param maxInFlight    open loop only: requests due while this many are outstanding are counted as dropped
+ * @param startupTimeout how long the services get to report healthy
+ * @param jvmArgs        JVM options for every service, space separated
+ * @param serviceArgs    extra {@code --name=value} application arguments for every service, space separated
+ */
+public record LoadTestOptions(Workload workload, double rps, int concurrency, Duration warmup, Duration duration,
+                              int seedCustomers, Target target, Path root, Path report, int maxInFlight,
+                              Duration startupTimeout, List<String> jvmArgs, List<String> serviceArgs) {
+
+    public enum Target {GATEWAY, DIRECT}
+
+    private static final Set<String> NAMES = Set.of("workload", "rps", "concurrency", "warmup", "duration", "seed",
+            "target", "root", "report", "max-in-flight", "startup-timeout", "jvm-args", "service-args");
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name == null || !NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name one of "
+                        + NAMES);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        Workload workload = Workload.of(values.getOrDefault("workload", "mixed"));
+        double rps = Double.parseDouble(values.getOrDefault("rps", "0"));
+        int concurrency = Integer.parseInt(values.getOrDefault("concurrency", "16"));
+        if (rps < 0 || rps == 0 && concurrency <= 0) {
+            throw new IllegalArgumentException("Give either --rps > 0 or --concurrency > 0");
+        }
+        return new LoadTestOptions(workload, rps, concurrency,
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("seed", "500")),
+                Target.valueOf(values.getOrDefault("target", "gateway").toUpperCase()),
+                Path.of(values.getOrDefault("root", "..")).toAbsolutePath().normalize(),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                duration(values.getOrDefault("startup-timeout", "300s")),
+                words(values.getOrDefault("jvm-args", "-Xmx512m")),
+                words(values.getOrDefault("service-args", "")));
+    }
+
+    /**
+     * @return the mode as it appears in the report, e.g. {@code 200 rps} or {@code 16 concurrent}
+     */
+    public String mode() {
+        return rps > 0 ? rps + " rps" : concurrency + " concurrent";
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    private static List<String> words(String value) {
+        return Arrays.stream(value.trim().split("\\s+")).filter(word -> !word.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,34 @@
+package com.knowprogram.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the seeded mobile numbers to fetches and unused ones to creates, per service, so that creates never hit
+ * an existing customer, card or loan.
+ */
+final class MobileNumbers {
+
+    private static final long FIRST = 7_000_000_000L;
+
+    private final int seeded;
+    private final Map<String, AtomicLong> nextUnused = new ConcurrentHashMap<>();
+
+    MobileNumbers(int seeded) {
+        this.seeded = seeded;
+    }
+
+    String seeded(int index) {
+        return String.valueOf(FIRST + index);
+    }
+
+    String forRoute(Route route) {
+        if (route.creates()) {
+            return String.valueOf(nextUnused.computeIfAbsent(route.service(), service -> new AtomicLong(FIRST + seeded))
+                    .getAndIncrement());
+        }
+        return seeded(ThreadLocalRandom.current().nextInt(Math.max(1, seeded)));
+    }
+}
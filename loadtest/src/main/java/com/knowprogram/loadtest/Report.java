@@ -0,0 +1,46 @@
+package com.knowprogram.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of a measured run, printed as a table and written as JSON so runs of different releases can be diffed.
+ */
+record Report(String workload, String mode, String target, double warmupSeconds, double durationSeconds,
+              int seedFailures, List<Results.RouteStats> routes) {
+
+    static Report of(LoadTestOptions options, int seedFailures, Results results) {
+        return new Report(options.workload().name().toLowerCase().replace('_', '-'), options.mode(),
+                options.target().name().toLowerCase(), options.warmup().toMillis() / 1000.0,
+                results.elapsed().toMillis() / 1000.0, seedFailures, results.stats());
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nworkload %s, %s via %s, measured for %.1fs%n%n", workload, mode, target, durationSeconds);
+        out.printf("%-42s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n", "route", "requests", "errors", "dropped",
+                "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Results.RouteStats stats : routes) {
+            out.printf("%-42s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", stats.route(), stats.requests(),
+                    stats.errors(), stats.dropped(), stats.throughput(), stats.p50Millis(), stats.p95Millis(),
+                    stats.p99Millis(), stats.p999Millis(), stats.maxMillis());
+        }
+        routes.stream().filter(stats -> stats.errors() > 0).forEach(stats ->
+                out.printf("%s responses by status: %s%n", stats.route(), stats.statuses()));
+        if (seedFailures > 0) {
+            out.printf("%d seeding requests failed, fetches may have missed their customer%n", seedFailures);
+        }
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+}
@@ -0,0 +1,109 @@
+package com.knowprogram.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and status codes per route, recorded concurrently by the request threads. Latencies are kept in
+ * microseconds in HdrHistograms, which hold their precision out to the highest percentiles.
+ */
+final class Results {
+
+    private final Map<Route, RouteRecorder> recorders = new EnumMap<>(Route.class);
+    private Duration elapsed = Duration.ZERO;
+
+    Results() {
+        for (Route route : Route.values()) {
+            recorders.put(route, new RouteRecorder());
+        }
+    }
+
+    /**
+     * @param status HTTP status, or 0 if no response arrived
+     */
+    void record(Route route, long latencyNanos, int status) {
+        RouteRecorder recorder = recorders.get(route);
+        recorder.latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorder.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void dropped(Route route) {
+        recorders.get(route).dropped.increment();
+    }
+
+    void elapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return statistics of the routes that saw any request, followed by those of all requests together
+     */
+    List<RouteStats> stats() {
+        List<RouteStats> stats = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        Map<Integer, Long> allStatuses = new TreeMap<>();
+        long allDropped = 0;
+        for (Map.Entry<Route, RouteRecorder> entry : recorders.entrySet()) {
+            RouteRecorder recorder = entry.getValue();
+            Histogram latencies = recorder.latencies.getIntervalHistogram();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            recorder.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            long dropped = recorder.dropped.sum();
+            if (latencies.getTotalCount() == 0 && dropped == 0) {
+                continue;
+            }
+            stats.add(RouteStats.of(entry.getKey().label(), latencies, statuses, dropped, elapsed));
+            all.add(latencies);
+            statuses.forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+            allDropped += dropped;
+        }
+        stats.add(RouteStats.of("all", all, allStatuses, allDropped, elapsed));
+        return stats;
+    }
+
+    private static final class RouteRecorder {
+        private final Recorder latencies = new Recorder(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+    }
+
+    /**
+     * @param errors     requests answered with anything but 2xx, or not answered at all (status 0)
+     * @param dropped    requests never sent because too many were outstanding
+     * @param throughput completed requests per second
+     */
+    record RouteStats(String route, long requests, long errors, long dropped, double throughput, double p50Millis,
+                      double p95Millis, double p99Millis, double p999Millis, double maxMillis,
+                      Map<Integer, Long> statuses) {
+
+        static RouteStats of(String route, Histogram latencies, Map<Integer, Long> statuses, long dropped,
+                             Duration elapsed) {
+            long errors = statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            long requests = latencies.getTotalCount();
+            return new RouteStats(route, requests, errors, dropped, requests / (elapsed.toNanos() / 1e9),
+                    millis(latencies, 50), millis(latencies, 95), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0, statuses);
+        }
+
+        private static double millis(Histogram latencies, double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.knowprogram.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * The requests of the Postman collection the workloads are made of. Paths are relative to the service, which is
+ * either the service itself or its {@code /peoplebank/<service>} prefix on the gateway.
+ */
+public enum Route {
+
+    CREATE_ACCOUNT("accounts", "POST", "/api/create", true),
+    FETCH_ACCOUNT("accounts", "GET", "/api/fetch", false),
+    FETCH_CUSTOMER_DETAILS("accounts", "GET", "/api/fetchCustomerDetails", false),
+    CREATE_CARD("cards", "POST", "/api/create", true),
+    FETCH_CARD("cards", "GET", "/api/fetch", false),
+    CREATE_LOAN("loans", "POST", "/api/create", true),
+    FETCH_LOAN("loans", "GET", "/api/fetch", false);
+
+    private final String service;
+    private final String method;
+    private final String path;
+    private final boolean creates;
+
+    Route(String service, String method, String path, boolean creates) {
+        this.service = service;
+        this.method = method;
+        this.path = path;
+        this.creates = creates;
+    }
+
+    public String service() {
+        return service;
+    }
+
+    /**
+     * @return whether the request needs a mobile number nobody has used yet, rather than one of the seeded ones
+     */
+    public boolean creates() {
+        return creates;
+    }
+
+    public String label() {
+        return method + " /" + service + path;
+    }
+
+    public HttpRequest request(URI serviceUri, String mobileNumber, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(timeout)
+                // the gateway sets one, the services require one when called directly
+                .header("peoplebank-correlation-id", UUID.randomUUID().toString());
+        if (this == CREATE_ACCOUNT) {
+            String customer = "{\"name\":\"Customer " + mobileNumber + "\",\"email\":\"customer" + mobileNumber
+                    + "@example.com\",\"mobileNumber\":\"" + mobileNumber + "\"}";
+            return builder.uri(URI.create(serviceUri + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(customer))
+                    .build();
+        }
+        builder.uri(URI.create(serviceUri + path + "?mobileNumber=" + mobileNumber));
+        return "POST".equals(method) ? builder.POST(HttpRequest.BodyPublishers.noBody()).build() : builder.GET().build();
+    }
+}
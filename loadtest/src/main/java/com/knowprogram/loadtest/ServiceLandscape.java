@@ -0,0 +1,123 @@
+package com.knowprogram.loadtest;
+
+import com.knowprogram.loadtest.standin.ConfigServerStandIn;
+import com.knowprogram.loadtest.standin.RedisStandIn;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * cards, loans, accounts and gatewayserver on in-memory H2, with the config server served from the configserver's
+ * config files, Eureka replaced by a static registry of the started instances, and Redis by {@link RedisStandIn}.
+ * Nothing is reached outside this machine. The services' own optional import of a config server on port 8071 stays
+ * in place and is skipped when nothing listens there.
+ */
+final class ServiceLandscape implements AutoCloseable {
+
+    private static final List<String> SERVICES = List.of("cards", "loans", "accounts");
+
+    private final ConfigServerStandIn configServer;
+    private final RedisStandIn redis;
+    private final List<ServiceProcess> processes = new ArrayList<>();
+    private final Map<String, URI> directUris = new LinkedHashMap<>();
+    private URI gatewayUri;
+
+    private ServiceLandscape(ConfigServerStandIn configServer, RedisStandIn redis) {
+        this.configServer = configServer;
+        this.redis = redis;
+    }
+
+    static ServiceLandscape start(LoadTestOptions options, HttpClient httpClient) throws Exception {
+        ServiceLandscape landscape = new ServiceLandscape(
+                ConfigServerStandIn.start(options.root().resolve("configserver/src/main/resources/config")),
+                RedisStandIn.start());
+        try {
+            landscape.startServices(options, httpClient);
+            return landscape;
+        } catch (Exception ex) {
+            landscape.close();
+            throw ex;
+        }
+    }
+
+    private void startServices(LoadTestOptions options, HttpClient httpClient) throws Exception {
+        Map<String, Integer> ports = new LinkedHashMap<>();
+        for (String service : SERVICES) {
+            ports.put(service, freePort());
+        }
+        int gatewayPort = freePort();
+        // a static registry instead of Eureka; the gateway routes to lb://ACCOUNTS and friends
+        List<String> registry = new ArrayList<>();
+        ports.forEach((service, port) -> {
+            registry.add("--spring.cloud.discovery.client.simple.instances[" + service + "][0].uri=http://localhost:"
+                    + port);
+            registry.add("--spring.cloud.discovery.client.simple.instances[" + service.toUpperCase()
+                    + "][0].uri=http://localhost:" + port);
+        });
+        for (String service : SERVICES) {
+            processes.add(ServiceProcess.start(service, options.root(), ports.get(service), options.jvmArgs(),
+                    appArgs(options, registry, "com.knowprogram." + service)));
+        }
+        List<String> gatewayArgs = appArgs(options, registry, "com.peoplebank.gatewayserver");
+        gatewayArgs.add("--spring.data.redis.host=localhost");
+        gatewayArgs.add("--spring.data.redis.port=" + redis.port());
+        processes.add(ServiceProcess.start("gatewayserver", options.root(), gatewayPort, options.jvmArgs(),
+                gatewayArgs));
+
+        long deadline = System.nanoTime() + options.startupTimeout().toNanos();
+        for (ServiceProcess process : processes) {
+            process.awaitHealthy(httpClient, deadline);
+        }
+        for (int i = 0; i < SERVICES.size(); i++) {
+            directUris.put(SERVICES.get(i), processes.get(i).uri());
+        }
+        gatewayUri = processes.getLast().uri();
+    }
+
+    private List<String> appArgs(LoadTestOptions options, List<String> registry, String basePackage) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.import=optional:configserver:http://localhost:" + configServer.port() + "/");
+        args.add("--eureka.client.enabled=false");
+        args.addAll(registry);
+        // per-request SQL and debug logging would measure the console rather than the service
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level." + basePackage + "=INFO");
+        args.addAll(options.serviceArgs());
+        return args;
+    }
+
+    /**
+     * @return base URI of every service, on the gateway or on the service itself
+     */
+    Map<String, URI> serviceUris(LoadTestOptions.Target target) {
+        if (target == LoadTestOptions.Target.DIRECT) {
+            return directUris;
+        }
+        Map<String, URI> uris = new LinkedHashMap<>();
+        for (String service : SERVICES) {
+            uris.put(service, URI.create(gatewayUri + "/peoplebank/" + service));
+        }
+        return uris;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ServiceProcess process : processes.reversed()) {
+            process.close();
+        }
+        redis.close();
+        configServer.close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.knowprogram.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * One service running from its packaged jar in a child JVM, with its output in {@code target/loadtest-logs}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final Path log;
+
+    private ServiceProcess(String name, int port, Process process, Path log) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+        this.log = log;
+    }
+
+    static ServiceProcess start(String name, Path root, int port, List<String> jvmArgs, List<String> appArgs)
+            throws IOException {
+        Path jar = jar(root, name);
+        Path log = Path.of("target", "loadtest-logs", name + ".log").toAbsolutePath();
+        Files.createDirectories(log.getParent());
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        System.out.printf("started %s on port %d, log %s%n", name, port, log);
+        return new ServiceProcess(name, port, process, log);
+    }
+
+    URI uri() {
+        return URI.create("http://localhost:" + port);
+    }
+
+    /**
+     * Waits for {@code /actuator/health} to answer 200.
+     */
+    void awaitHealthy(HttpClient httpClient, long deadlineNanos) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(uri().resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        while (System.nanoTime() - deadlineNanos < 0) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy in time, see " + log);
+    }
+
+    private static Path jar(Path root, String name) throws IOException {
+        Path target = root.resolve(name).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                return files.filter(file -> file.getFileName().toString().matches(name + "-.*\\.jar"))
+                        .max(Comparator.comparing(file -> file.toFile().lastModified()))
+                        .orElseThrow(() -> missingJar(target, name));
+            }
+        }
+        throw missingJar(target, name);
+    }
+
+    private static IllegalStateException missingJar(Path target, String name) {
+        return new IllegalStateException("No " + name + " jar in " + target + ", run mvn package -DskipTests in "
+                + target.getParent() + " first");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
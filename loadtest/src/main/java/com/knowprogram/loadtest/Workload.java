@@ -0,0 +1,52 @@
+package com.knowprogram.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted request mixes. Every request of a run picks its route independently, so the mix holds for any duration.
+ */
+public enum Workload {
+
+    FETCH_HEAVY(mix(Route.FETCH_CUSTOMER_DETAILS, 45, Route.FETCH_ACCOUNT, 25, Route.FETCH_CARD, 15,
+            Route.FETCH_LOAN, 15)),
+    CREATE_HEAVY(mix(Route.CREATE_ACCOUNT, 60, Route.CREATE_CARD, 20, Route.CREATE_LOAN, 20)),
+    MIXED(mix(Route.FETCH_CUSTOMER_DETAILS, 40, Route.FETCH_ACCOUNT, 20, Route.FETCH_CARD, 10, Route.FETCH_LOAN, 10,
+            Route.CREATE_ACCOUNT, 10, Route.CREATE_CARD, 5, Route.CREATE_LOAN, 5));
+
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Route, Integer> weights) {
+        routes = weights.keySet().toArray(new Route[0]);
+        cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += weights.get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static Workload of(String name) {
+        return valueOf(name.toUpperCase().replace('-', '_'));
+    }
+
+    public Route pick() {
+        int point = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<Route, Integer> mix(Object... routesAndWeights) {
+        Map<Route, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < routesAndWeights.length; i += 2) {
+            weights.put((Route) routesAndWeights[i], (Integer) routesAndWeights[i + 1]);
+        }
+        return weights;
+    }
+}
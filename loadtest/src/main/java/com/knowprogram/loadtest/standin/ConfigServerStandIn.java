@@ -0,0 +1,117 @@
+package com.knowprogram.loadtest.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Answers the Spring Cloud Config client's {@code GET /{application}/{profiles}[/{label}]} from a directory of
+ * {@code {application}[-{profile}].yml} files, the way the config server's native backend does, so the services get
+ * the same properties as from the real server without its git repository.
+ */
+public final class ConfigServerStandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Path configDir;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigServerStandIn(Path configDir) throws IOException {
+        this.configDir = configDir;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static ConfigServerStandIn start(Path configDir) throws IOException {
+        return new ConfigServerStandIn(configDir);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] segments = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                    .filter(segment -> !segment.isEmpty())
+                    .toArray(String[]::new);
+            if (!"GET".equals(exchange.getRequestMethod()) || segments.length < 2 || segments.length > 3) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = objectMapper.writeValueAsBytes(environment(segments[0], segments[1]));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    Map<String, Object> environment(String application, String profiles) throws IOException {
+        List<String> profileList = List.of(profiles.split(","));
+        // most specific first: the later a profile is listed, the higher its precedence
+        List<Map<String, Object>> propertySources = new ArrayList<>();
+        for (String profile : profileList.reversed()) {
+            if (!"default".equals(profile)) {
+                addPropertySource(propertySources, configDir.resolve(application + "-" + profile + ".yml"));
+            }
+        }
+        addPropertySource(propertySources, configDir.resolve(application + ".yml"));
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("name", application);
+        environment.put("profiles", profileList);
+        environment.put("label", null);
+        environment.put("version", null);
+        environment.put("state", null);
+        environment.put("propertySources", propertySources);
+        return environment;
+    }
+
+    private static void addPropertySource(List<Map<String, Object>> propertySources, Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            for (Object document : new Yaml().loadAll(reader)) {
+                flatten("", document, properties);
+            }
+        }
+        propertySources.add(Map.of("name", "file:" + file, "source", properties));
+    }
+
+    private static void flatten(String prefix, Object value, Map<String, Object> properties) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, child) -> flatten(prefix.isEmpty() ? String.valueOf(key) : prefix + "." + key, child,
+                    properties));
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                flatten(prefix + "[" + i + "]", list.get(i), properties);
+            }
+        } else if (value != null && !prefix.isEmpty()) {
+            properties.put(prefix, value);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,136 @@
+package com.knowprogram.loadtest.standin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Speaks just enough of the Redis protocol (RESP2) for the gateway: connection setup, health checks and the token
+ * bucket script of its request rate limiter, which is always granted. The load then measures the gateway and the
+ * services rather than the demo limit of one request per second on the cards route.
+ */
+public final class RedisStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::accept);
+    }
+
+    public static RedisStandIn start() throws IOException {
+        return new RedisStandIn();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException ex) {
+                // closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            for (List<String> command = readCommand(in); command != null; command = readCommand(in)) {
+                if (command.isEmpty()) {
+                    continue;
+                }
+                String name = command.get(0).toUpperCase(Locale.ROOT);
+                out.write(reply(name).getBytes(StandardCharsets.UTF_8));
+                // pipelined commands are answered together
+                if (in.available() == 0) {
+                    out.flush();
+                }
+                if ("QUIT".equals(name)) {
+                    out.flush();
+                    return;
+                }
+            }
+        } catch (IOException ex) {
+            // client went away
+        }
+    }
+
+    static String reply(String command) {
+        return switch (command) {
+            case "PING" -> "+PONG\r\n";
+            // makes the client fall back to RESP2
+            case "HELLO" -> "-ERR unknown command 'HELLO'\r\n";
+            // the rate limiter script returns {allowed, tokens_left}
+            case "EVALSHA", "EVAL" -> "*2\r\n:1\r\n:0\r\n";
+            case "INFO" -> bulk("# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n");
+            default -> "+OK\r\n";
+        };
+    }
+
+    private static String bulk(String value) {
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    /**
+     * @return the command and its arguments, or {@code null} at the end of the stream
+     */
+    static List<String> readCommand(InputStream in) throws IOException {
+        String line = readLine(in);
+        if (line == null) {
+            return null;
+        }
+        if (!line.startsWith("*")) {
+            // inline command, as typed into telnet
+            return List.of(line.trim().split("\\s+")).stream().filter(part -> !part.isEmpty()).toList();
+        }
+        int count = Integer.parseInt(line.substring(1));
+        List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String header = readLine(in);
+            if (header == null || !header.startsWith("$")) {
+                throw new IOException("Expected a bulk string, got " + header);
+            }
+            byte[] value = in.readNBytes(Integer.parseInt(header.substring(1)));
+            readLine(in);
+            command.add(new String(value, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = line.length();
+                return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
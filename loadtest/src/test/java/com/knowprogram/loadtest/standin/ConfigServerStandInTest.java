@@ -0,0 +1,62 @@
+package com.knowprogram.loadtest.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigServerStandInTest {
+
+    @TempDir
+    Path configDir;
+
+    @Test
+    void servesFlattenedPropertiesMostSpecificProfileFirst() throws Exception {
+        Files.writeString(configDir.resolve("cards.yml"), """
+                build:
+                  version: "3.0"
+                cards:
+                  onCallSupport:
+                    - (412) 419-3491
+                    - (915) 382-1932
+                """);
+        Files.writeString(configDir.resolve("cards-prod.yml"), """
+                build:
+                  version: "1.0"
+                """);
+
+        try (ConfigServerStandIn configServer = ConfigServerStandIn.start(configDir)) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + configServer.port() + "/cards/prod")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            JsonNode propertySources = new ObjectMapper().readTree(response.body()).get("propertySources");
+            assertEquals(2, propertySources.size());
+            assertEquals("1.0", propertySources.get(0).get("source").get("build.version").asText());
+            JsonNode defaults = propertySources.get(1).get("source");
+            assertEquals("3.0", defaults.get("build.version").asText());
+            assertEquals("(915) 382-1932", defaults.get("cards.onCallSupport[1]").asText());
+        }
+    }
+
+    @Test
+    void servesNoPropertySourcesForUnknownApplications() throws Exception {
+        try (ConfigServerStandIn configServer = ConfigServerStandIn.start(configDir)) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + configServer.port() + "/gatewayserver/default")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(0, new ObjectMapper().readTree(response.body()).get("propertySources").size());
+        }
+    }
+}
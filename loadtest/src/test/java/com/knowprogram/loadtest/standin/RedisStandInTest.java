@@ -0,0 +1,38 @@
+package com.knowprogram.loadtest.standin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RedisStandInTest {
+
+    @Test
+    void grantsTheRateLimiterScriptAndAnswersPipelinedCommands() throws Exception {
+        try (RedisStandIn redis = RedisStandIn.start();
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), redis.port())) {
+            OutputStream out = socket.getOutputStream();
+            // HELLO 3, PING and the EVALSHA of the gateway's token bucket, sent in one write
+            out.write(("*2\r\n$5\r\nHELLO\r\n$1\r\n3\r\n"
+                    + "*1\r\n$4\r\nPING\r\n"
+                    + "*9\r\n$7\r\nEVALSHA\r\n$40\r\n0123456789012345678901234567890123456789\r\n$1\r\n2\r\n"
+                    + "$26\r\nrequest_rate_limiter.{a}.t\r\n$28\r\nrequest_rate_limiter.{a}.ts\r\n"
+                    + "$1\r\n1\r\n$1\r\n1\r\n$0\r\n\r\n$1\r\n1\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+
+            assertEquals("-ERR unknown command 'HELLO'", in.readLine());
+            assertEquals("+PONG", in.readLine());
+            assertEquals("*2", in.readLine());
+            assertEquals(":1", in.readLine());
+            assertEquals(":0", in.readLine());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.knowprogram.loans.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the loans responses, single and batch, and of the error response. The mapper is
+ * configured the way Spring Boot configures the application's.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private LoansDto loansDto;
+    private Map<String, LoansDto> loansBatch;
+    private ErrorResponseDto errorResponseDto;
+    private byte[] mobileNumbersJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        loansDto = new LoansDto("9876543210", "100000000001", "Home Loan", 100_000, 40_000, 60_000);
+        loansBatch = new LinkedHashMap<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String mobileNumber = String.valueOf(9_000_000_000L + i);
+            loansBatch.put(mobileNumber, new LoansDto(mobileNumber, String.valueOf(100_000_000_000L + i),
+                    "Home Loan", 100_000, 40_000, 60_000));
+        }
+        errorResponseDto = new ErrorResponseDto("uri=/api/fetch", HttpStatus.NOT_FOUND,
+                "Loan not found with the given input data mobileNumber : '9876543210'",
+                LocalDateTime.of(2024, 6, 30, 10, 0));
+        mobileNumbersJson = objectMapper.writeValueAsBytes(List.copyOf(loansBatch.keySet()));
+    }
+
+    @Benchmark
+    public byte[] writeLoansDto() throws IOException {
+        return objectMapper.writeValueAsBytes(loansDto);
+    }
+
+    @Benchmark
+    public byte[] writeLoansBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(loansBatch);
+    }
+
+    @Benchmark
+    public List<String> readMobileNumbersBatch() throws IOException {
+        return objectMapper.readValue(mobileNumbersJson, new TypeReference<>() {
+        });
+    }
+
+    @Benchmark
+    public byte[] writeErrorResponseDto() throws IOException {
+        return objectMapper.writeValueAsBytes(errorResponseDto);
+    }
+}
@@ -0,0 +1,48 @@
+package com.knowprogram.loans.mapper;
+
+import com.knowprogram.loans.dto.LoansDto;
+import com.knowprogram.loans.entity.Loans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping done on every loans request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private Loans loans;
+    private LoansDto loansDto;
+
+    @Setup
+    public void setUp() {
+        loans = Loans.builder().loanId(1L).mobileNumber("9876543210").loanNumber("100000000001")
+                .loanType("Home Loan").totalLoan(100_000).amountPaid(40_000).outstandingAmount(60_000).build();
+        loansDto = LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public LoansDto loansToDto() {
+        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public Loans dtoToLoans() {
+        return LoansMapper.mapToLoans(loansDto, new Loans());
+    }
+}
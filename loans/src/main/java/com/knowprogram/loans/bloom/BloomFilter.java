@@ -0,0 +1,96 @@
+package com.knowprogram.loans.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size Bloom filter of strings that can be added to and queried concurrently without locking. Sized from the
+ * expected number of entries and the false-positive probability wanted at that number; beyond it the rate climbs.
+ */
+final class BloomFilter {
+
+    // the bit array is an int-indexed array of longs
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) << 6;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1, was "
+                    + falsePositiveProbability);
+        }
+        long entries = Math.max(1, expectedInsertions);
+        double optimalBits = -entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        long wordCount = (Math.min((long) Math.ceil(optimalBits), MAX_BITS) + 63) >>> 6;
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitSize = wordCount << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / entries * Math.log(2)));
+    }
+
+    void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + 0x9e3779b97f4a7c15L);
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, set) -> current | set);
+            }
+            combined += hash2;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + 0x9e3779b97f4a7c15L);
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+
+    /**
+     * @return the probability of a false positive with the bits set so far
+     */
+    double expectedFalsePositiveProbability() {
+        long bitsSet = 0;
+        for (int i = 0; i < words.length(); i++) {
+            bitsSet += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) bitsSet / bitSize, hashFunctions);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    // FNV-1a over the chars, spread by the MurmurHash3 finalizer; short digit strings differ only in a few bits
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe1a85ec3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
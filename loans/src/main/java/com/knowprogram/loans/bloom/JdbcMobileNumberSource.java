@@ -0,0 +1,32 @@
+package com.knowprogram.loans.bloom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads the {@code mobile_number} column of a table row by row.
+ */
+public class JdbcMobileNumberSource implements MobileNumberSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+
+    public JdbcMobileNumberSource(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void forEach(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT mobile_number FROM " + table,
+                (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getString(1)));
+    }
+}
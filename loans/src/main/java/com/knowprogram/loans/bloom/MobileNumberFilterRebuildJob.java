@@ -0,0 +1,58 @@
+package com.knowprogram.loans.bloom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@link MobileNumberFilter} from the database once the application context has started, after the
+ * schema and data scripts ran, and rebuilds it at a fixed delay from then on. A failed rebuild leaves the previous
+ * filter in place until the next one.
+ */
+public class MobileNumberFilterRebuildJob implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(MobileNumberFilterRebuildJob.class);
+
+    private final MobileNumberFilter mobileNumberFilter;
+    private final Duration interval;
+    private volatile ScheduledExecutorService scheduler;
+
+    public MobileNumberFilterRebuildJob(MobileNumberFilter mobileNumberFilter, Duration interval) {
+        this.mobileNumberFilter = mobileNumberFilter;
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("mobile-number-filter-rebuild")
+                .daemon()
+                .factory());
+        scheduler.scheduleWithFixedDelay(this::rebuild, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void rebuild() {
+        try {
+            mobileNumberFilter.rebuild();
+        } catch (RuntimeException ex) {
+            // an exception escaping would cancel the schedule
+            logger.warn("Rebuilding the mobile number filter failed, keeping the previous one", ex);
+        }
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
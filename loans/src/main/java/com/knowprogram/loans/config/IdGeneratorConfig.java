@@ -0,0 +1,27 @@
+package com.knowprogram.loans.config;
+
+import com.knowprogram.loans.constants.LoansConstants;
+import com.knowprogram.loans.idgen.IdBlockSource;
+import com.knowprogram.loans.idgen.JdbcIdBlockSource;
+import com.knowprogram.loans.idgen.SegmentedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdBlockSource idBlockSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcIdBlockSource(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public SegmentedIdGenerator loanNumberGenerator(IdBlockSource idBlockSource,
+                                                    @Value("${loans.id-block-size:100}") int blockSize) {
+        return new SegmentedIdGenerator(idBlockSource, LoansConstants.LOAN_NUMBER_SEQUENCE,
+                LoansConstants.LOAN_NUMBER_START, LoansConstants.LOAN_NUMBER_MAX, blockSize);
+    }
+}
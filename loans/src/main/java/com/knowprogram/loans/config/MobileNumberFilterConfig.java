@@ -0,0 +1,34 @@
+package com.knowprogram.loans.config;
+
+import com.knowprogram.loans.bloom.JdbcMobileNumberSource;
+import com.knowprogram.loans.bloom.MobileNumberFilter;
+import com.knowprogram.loans.bloom.MobileNumberFilterRebuildJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The Bloom filter of the mobile numbers with a loan and the job rebuilding it from the {@code loans} table. The filter
+ * bean is there even when disabled, letting every number through.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MobileNumberFilterProperties.class)
+public class MobileNumberFilterConfig {
+
+    @Bean
+    public MobileNumberFilter mobileNumberFilter(MobileNumberFilterProperties properties, JdbcTemplate jdbcTemplate,
+                                                 MeterRegistry meterRegistry) {
+        return new MobileNumberFilter(properties, new JdbcMobileNumberSource(jdbcTemplate, "loans"),
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "loans.mobile-number-filter", name = "enabled", matchIfMissing = true)
+    public MobileNumberFilterRebuildJob mobileNumberFilterRebuildJob(MobileNumberFilter mobileNumberFilter,
+                                                                     MobileNumberFilterProperties properties) {
+        return new MobileNumberFilterRebuildJob(mobileNumberFilter, properties.rebuildInterval());
+    }
+}
@@ -3,6 +3,12 @@ package com.knowprogram.loans.constants;
 public interface LoansConstants {
     String HOME_LOAN = "Home Loan";
     int NEW_LOAN_LIMIT = 1_00_000;
+    // loan numbers used to be drawn at random from the whole range of twelve digits without a leading zero, so new
+    // ones come from below it, zero-padded; the sequence is new because the old one continued above those numbers
+    String LOAN_NUMBER_SEQUENCE = "padded_loan_number";
+    long LOAN_NUMBER_START = 1L;
+    long LOAN_NUMBER_MAX = 99_999_999_999L;
+    String LOAN_NUMBER_FORMAT = "%012d";
     String STATUS_201 = "201";
     String MESSAGE_201 = "Loan created successfully";
     String STATUS_200 = "200";
@@ -10,4 +16,5 @@ public interface LoansConstants {
     String STATUS_417 = "417";
     String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    int BATCH_MAX_SIZE = 1000;
 }
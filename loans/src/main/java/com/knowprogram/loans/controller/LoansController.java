@@ -13,7 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Vikas
  * @since 1.0
@@ -74,6 +79,20 @@ public class LoansController {
         return ResponseEntity.status(HttpStatus.OK).body(loansService.fetchLoan(mobileNumber));
     }
 
+    @Operation(summary = "Fetch Loan Batch REST API", description = "REST API to fetch loan details for many mobile " +
+            "numbers. Mobile numbers without a loan are returned with a null value")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Loan details fetched successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content(schema =
+            @Schema(implementation = ErrorResponseDto.class)))})
+    @PostMapping("/fetchBatch")
+    public ResponseEntity<Map<String, LoansDto>> fetchLoanDetailsBatch(@RequestHeader("peoplebank-correlation-id") String correlationId,
+            @RequestBody @NotEmpty @Size(max = LoansConstants.BATCH_MAX_SIZE, message = "At most " +
+                    LoansConstants.BATCH_MAX_SIZE + " mobile numbers can be fetched per request")
+            List<@Pattern(regexp = "[0-9]{10}", message = "Mobile Number should be 10 digits") String> mobileNumbers) {
+        LOGGER.debug("peoplebank-correlation-id found: {}", correlationId);
+        return ResponseEntity.status(HttpStatus.OK).body(loansService.fetchLoans(mobileNumbers));
+    }
+
     @Operation(summary = "Update Loan REST API", description = "REST API to update existing Loan")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Loan updated successfully"),
             @ApiResponse(responseCode = "417", description = "Loan update failed"), @ApiResponse(responseCode = "500"
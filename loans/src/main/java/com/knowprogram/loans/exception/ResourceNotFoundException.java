@@ -3,9 +3,14 @@ package com.knowprogram.loans.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Only ever turned into a 404, so it skips capturing a stack trace, which every lookup of an unknown mobile number
+ * would otherwise pay for.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
-        super(String.format("%s not found with given input data %s : '%s'", resourceName, fieldName, fieldValue));
+        super(resourceName + " not found with given input data " + fieldName + " : '" + fieldValue + "'", null, false,
+                false);
     }
 }
@@ -0,0 +1,26 @@
+package com.knowprogram.loans.idgen;
+
+/**
+ * Hands out disjoint blocks of a named sequence. Implementations must guarantee that a block is never handed out
+ * twice, including to other instances of the service.
+ */
+public interface IdBlockSource {
+
+    /**
+     * @param sequenceName - name of the sequence
+     * @param initialValue - first value of the sequence if it has never been used
+     * @param maxValue     - last value the sequence may hand out
+     * @param blockSize    - number of values to reserve
+     * @return first value of the reserved block; the block is {@code [start, blockEnd(start, maxValue, blockSize))}
+     * @throws IllegalStateException if every value up to {@code maxValue} has been handed out
+     */
+    long reserve(String sequenceName, long initialValue, long maxValue, int blockSize);
+
+    /**
+     * @return the value just past the block starting at {@code start}, which stops short of the block size when the
+     * sequence reaches {@code maxValue}
+     */
+    static long blockEnd(long start, long maxValue, int blockSize) {
+        return maxValue - start < blockSize ? maxValue + 1 : start + blockSize;
+    }
+}
@@ -0,0 +1,109 @@
+package com.knowprogram.loans.limiter;
+
+import com.knowprogram.loans.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits concurrent requests to a limit derived from their latency, in the manner of the gradient algorithm: a long
+ * average of the latency stands for the latency without queueing, and every request that takes longer than
+ * {@code tolerance} times that average shrinks the limit in proportion, while faster ones let it grow by about the
+ * square root of the limit. Requests that failed with a server error cut the limit by a tenth. The limit only grows
+ * while at least half of it is in use, so an idle service does not drift to {@code maxLimit}.
+ * <p>
+ * Acquiring is a single compare-and-set; the limit is recomputed by whichever completing request gets the update
+ * lock, the others skip their sample. Publishes {@code http.server.concurrency.limit},
+ * {@code http.server.concurrency.in.flight} and {@code http.server.concurrency.rejected}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Counter rejected;
+    private volatile int limit;
+    // guarded by updateLock
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Concurrent requests currently allowed")
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently being served")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether the request may proceed; if so, {@link #release} must be called once it completes
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos how long the request took
+     * @param dropped  whether it failed in a way that points at overload
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            update(Math.max(1, rttNanos), inFlightAtCompletion, dropped);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        if (dropped) {
+            setLimit(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+        longRttNanos = longRttNanos == 0 ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) / properties.longWindow();
+        // after a period of high latency the long average lags behind the recovery, so pull it down faster
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - properties.smoothing()) + newLimit * properties.smoothing());
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
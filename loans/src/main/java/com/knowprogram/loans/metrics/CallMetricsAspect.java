@@ -0,0 +1,57 @@
+package com.knowprogram.loans.metrics;
+
+import com.knowprogram.loans.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Times every service method as {@code service.calls}, tagged by outcome: {@code success}, {@code not-found} or
+ * {@code error}. Publishes a percentile histogram, so quantiles can be aggregated across instances from the
+ * Prometheus scrape.
+ */
+@Aspect
+@Component
+public class CallMetricsAspect {
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+
+    public CallMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.knowprogram.loans.service.I*Service.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            stop(sample, service, method, "success");
+            return result;
+        } catch (Throwable ex) {
+            stop(sample, service, method, ex instanceof ResourceNotFoundException ? "not-found" : "error");
+            throw ex;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String service, String method, String outcome) {
+        sample.stop(Timer.builder("service.calls")
+                .description("Latency of the service methods")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry));
+    }
+}
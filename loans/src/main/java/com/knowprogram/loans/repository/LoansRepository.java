@@ -1,12 +1,24 @@
 package com.knowprogram.loans.repository;
 
 import com.knowprogram.loans.entity.Loans;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LoansRepository extends JpaRepository<Loans, Long> {
     Optional<Loans> findByLoanNumber(String loanNumber);
 
     Optional<Loans> findByMobileNumber(String mobileNumber);
+
+    List<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Loans l where l.mobileNumber = :mobileNumber")
+    int deleteByMobileNumber(String mobileNumber);
 }
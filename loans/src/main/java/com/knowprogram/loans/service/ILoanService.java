@@ -2,9 +2,13 @@ package com.knowprogram.loans.service;
 
 import com.knowprogram.loans.dto.LoansDto;
 
+import java.util.List;
+import java.util.Map;
+
 public interface ILoanService {
     void createLoan(String mobileNumber);
     LoansDto fetchLoan(String mobileNumber);
+    Map<String, LoansDto> fetchLoans(List<String> mobileNumbers);
     Boolean updateLoan(LoansDto loansDto);
     Boolean deleteLoan(String mobileNumber);
 }
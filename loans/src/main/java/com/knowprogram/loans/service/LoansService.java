@@ -1,15 +1,22 @@
 package com.knowprogram.loans.service;
 
+import com.knowprogram.loans.bloom.MobileNumberFilter;
 import com.knowprogram.loans.constants.LoansConstants;
 import com.knowprogram.loans.dto.LoansDto;
 import com.knowprogram.loans.entity.Loans;
 import com.knowprogram.loans.exception.LoanAlreadyExistException;
 import com.knowprogram.loans.exception.ResourceNotFoundException;
+import com.knowprogram.loans.idgen.SegmentedIdGenerator;
 import com.knowprogram.loans.mapper.LoansMapper;
 import com.knowprogram.loans.repository.LoansRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,33 +24,76 @@ public class LoansService implements ILoanService {
     @Autowired
     LoansRepository loansRepository;
 
+    @Autowired
+    private SegmentedIdGenerator loanNumberGenerator;
+
+    @Autowired
+    private MobileNumberFilter mobileNumberFilter;
+
+    @Value("${loans.batch.chunk-size:100}")
+    private int batchChunkSize;
+
     @Override
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans = loansRepository.findByMobileNumber(mobileNumber);
+        Optional<Loans> optionalLoans = mobileNumberFilter.find(mobileNumber, loansRepository::findByMobileNumber);
         if (optionalLoans.isPresent()) {
             throw new LoanAlreadyExistException("Loan already exist for mobile number: " + mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
+        try {
+            loansRepository.save(createNewLoan(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            // the filter only learns of numbers inserted through another instance at its next rebuild; the unique
+            // constraint on the mobile number catches those
+            if (loansRepository.findByMobileNumber(mobileNumber).isPresent()) {
+                throw new LoanAlreadyExistException("Loan already exist for mobile number: " + mobileNumber);
+            }
+            throw ex;
+        }
+        mobileNumberFilter.add(mobileNumber);
     }
 
     private Loans createNewLoan(String mobileNumber) {
-        long randomLoanNumber = (long) (Math.random() * 900000000000L) + 100000000000L;
-        return Loans.builder().loanNumber(String.valueOf(randomLoanNumber)).mobileNumber(mobileNumber).loanType(LoansConstants.HOME_LOAN).totalLoan(LoansConstants.NEW_LOAN_LIMIT).amountPaid(0).outstandingAmount(LoansConstants.NEW_LOAN_LIMIT).build();
+        return Loans.builder().loanNumber(String.format(LoansConstants.LOAN_NUMBER_FORMAT, loanNumberGenerator.next())).mobileNumber(mobileNumber).loanType(LoansConstants.HOME_LOAN).totalLoan(LoansConstants.NEW_LOAN_LIMIT).amountPaid(0).outstandingAmount(LoansConstants.NEW_LOAN_LIMIT).build();
     }
 
     @Override
     public LoansDto fetchLoan(String mobileNumber) {
         Loans loans =
-                loansRepository.findByMobileNumber(mobileNumber).orElseThrow(() -> new ResourceNotFoundException(
+                mobileNumberFilter.find(mobileNumber, loansRepository::findByMobileNumber).orElseThrow(() -> new ResourceNotFoundException(
                         "Loan", "mobileNumber", mobileNumber));
         return LoansMapper.mapToLoansDto(loans, new LoansDto());
 
     }
 
+    /**
+     * Resolves the mobile numbers with one IN query per chunk of {@code loans.batch.chunk-size} numbers, leaving out
+     * the numbers the mobile number filter rules out. Numbers without a loan are reported with a null value instead of
+     * a {@link ResourceNotFoundException}.
+     */
+    @Override
+    public Map<String, LoansDto> fetchLoans(List<String> mobileNumbers) {
+        Map<String, LoansDto> loansByMobileNumber = new LinkedHashMap<>();
+        mobileNumbers.forEach(mobileNumber -> loansByMobileNumber.put(mobileNumber, null));
+        List<String> knownMobileNumbers = mobileNumberFilter.mightContainAll(loansByMobileNumber.keySet());
+        int found = 0;
+        for (int from = 0; from < knownMobileNumbers.size(); from += batchChunkSize) {
+            List<String> chunk = knownMobileNumbers.subList(from, Math.min(from + batchChunkSize,
+                    knownMobileNumbers.size()));
+            for (Loans loans : loansRepository.findByMobileNumberIn(chunk)) {
+                if (loansByMobileNumber.putIfAbsent(loans.getMobileNumber(),
+                        LoansMapper.mapToLoansDto(loans, new LoansDto())) == null) {
+                    found++;
+                }
+            }
+        }
+        mobileNumberFilter.recordFalsePositives(knownMobileNumbers.size() - found);
+        return loansByMobileNumber;
+    }
+
     @Override
     public Boolean updateLoan(LoansDto loansDto) {
         Loans loans =
-                loansRepository.findByMobileNumber(loansDto.getMobileNumber()).orElseThrow(() -> new ResourceNotFoundException("Loan", "mobileNumber", loansDto.getMobileNumber()));
+                mobileNumberFilter.find(loansDto.getMobileNumber(), loansRepository::findByMobileNumber).orElseThrow(() -> new ResourceNotFoundException("Loan", "mobileNumber", loansDto.getMobileNumber()));
         LoansMapper.mapToLoans(loansDto, loans);
         loansRepository.save(loans);
         return true;
@@ -51,10 +101,13 @@ public class LoansService implements ILoanService {
 
     @Override
     public Boolean deleteLoan(String mobileNumber) {
-        Loans loans =
-                loansRepository.findByMobileNumber(mobileNumber).orElseThrow(() -> new ResourceNotFoundException(
-                        "Loan", "mobileNumber", mobileNumber));
-        loansRepository.delete(loans);
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
+        if (loansRepository.deleteByMobileNumber(mobileNumber) == 0) {
+            mobileNumberFilter.recordFalsePositives(1);
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
         return true;
     }
 }
@@ -11,4 +11,14 @@ CREATE TABLE IF NOT EXISTS `loans` (
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
   PRIMARY KEY (`loan_id`)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS `id_block` (
+  `sequence_name` varchar(50) NOT NULL,
+  `next_value` bigint NOT NULL,
+  PRIMARY KEY (`sequence_name`)
+);
+
+-- one loan per mobile number; also rejects numbers inserted through another instance that the mobile number filter
+-- has not seen yet
+CREATE UNIQUE INDEX IF NOT EXISTS `uk_loans_mobile_number` ON `loans` (`mobile_number`);
@@ -0,0 +1,75 @@
+package com.knowprogram.loans.limiter;
+
+import com.knowprogram.loans.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties(true, 20, 4, 200, 1.5, 0.2, 600), meterRegistry);
+
+    @Test
+    void rejectsRequestsBeyondTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertTrue(limiter.tryAcquire());
+
+        assertEquals(1.0, meterRegistry.get("http.server.concurrency.rejected").counter().count());
+        assertEquals(20.0, meterRegistry.get("http.server.concurrency.in.flight").gauge().value());
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        runAtFullLoad(50, 10);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        // a single burst; kept up long enough, the long average adopts the new latency and the limit recovers
+        runAtFullLoad(1, 100);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown / 2, "limit " + shrunk + " after " + grown);
+    }
+
+    @Test
+    void serverErrorsCutTheLimitDownToTheMinimum() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void idleServiceDoesNotGrowTheLimit() {
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    // fills the limit, then completes the requests one by one with the given latency
+    private void runAtFullLoad(int rounds, long rttMillis) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), false);
+            }
+        }
+    }
+}
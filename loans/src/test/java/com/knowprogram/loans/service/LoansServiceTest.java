@@ -0,0 +1,77 @@
+package com.knowprogram.loans.service;
+
+import com.knowprogram.loans.audit.AuditAwareImpl;
+import com.knowprogram.loans.config.IdGeneratorConfig;
+import com.knowprogram.loans.config.MobileNumberFilterConfig;
+import com.knowprogram.loans.dto.LoansDto;
+import com.knowprogram.loans.entity.Loans;
+import com.knowprogram.loans.repository.LoansRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "loans.batch.chunk-size=10",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		// rows inserted by the tests never commit, so the filter would not know them
+		"loans.mobile-number-filter.enabled=false"})
+@Import({LoansService.class, AuditAwareImpl.class, IdGeneratorConfig.class, MobileNumberFilterConfig.class,
+		SimpleMeterRegistry.class})
+class LoansServiceTest {
+
+	@Autowired
+	private LoansService loansService;
+
+	@Autowired
+	private LoansRepository loansRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void fetchLoansIssuesOneQueryPerChunk() {
+		List<String> mobileNumbers = new ArrayList<>();
+		for (int i = 0; i < 45; i++) {
+			String mobileNumber = String.valueOf(9000000000L + i);
+			mobileNumbers.add(mobileNumber);
+			if (i % 3 != 0) {
+				loansRepository.save(Loans.builder().mobileNumber(mobileNumber).loanNumber(String.valueOf(100000000000L + i))
+						.loanType("Home Loan").totalLoan(100000).amountPaid(0).outstandingAmount(100000).build());
+			}
+		}
+		loansRepository.flush();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		Map<String, LoansDto> loans = loansService.fetchLoans(mobileNumbers);
+
+		assertEquals(5, statistics.getPrepareStatementCount());
+		assertEquals(mobileNumbers, List.copyOf(loans.keySet()));
+		assertNull(loans.get("9000000000"));
+		assertNotNull(loans.get("9000000001"));
+		assertEquals("100000000001", loans.get("9000000001").getLoanNumber());
+	}
+
+	@Test
+	void newLoanNumbersStayBelowTheRangeOfRandomlyDrawnOnes() {
+		loansService.createLoan("9000000000");
+
+		// twelve digits with a leading zero, which no randomly drawn loan number had
+		assertTrue(loansRepository.findByMobileNumber("9000000000").orElseThrow().getLoanNumber()
+				.matches("0[0-9]{11}"));
+	}
+
+}